@@ -0,0 +1,48 @@
+package com.yuuki.hook_manager.ui.widget.benchmark;
+
+import android.app.Activity;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.shapes.OvalShape;
+import android.os.Bundle;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.yuuki.hook_manager.ui.widget.BottomNavigation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 承载被测导航栏的窗口，附加到可见窗口后控件才会播放动画、使用显示列表
+ */
+public class BenchmarkActivity extends Activity {
+
+    static final int ITEM_COUNT = 5;
+    static final int HEIGHT = 240;
+
+    BottomNavigation bottomNav;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        bottomNav = new BottomNavigation(this);
+        bottomNav.setItems(createItems(ITEM_COUNT));
+
+        FrameLayout root = new FrameLayout(this);
+        root.addView(bottomNav, new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, HEIGHT, Gravity.BOTTOM));
+        setContentView(root);
+    }
+
+    static List<BottomNavigation.NavigationItem> createItems(int count) {
+        List<BottomNavigation.NavigationItem> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ShapeDrawable icon = new ShapeDrawable(new OvalShape());
+            icon.setIntrinsicWidth(48);
+            icon.setIntrinsicHeight(48);
+            result.add(new BottomNavigation.NavigationItem("Item " + i, icon, i));
+        }
+        return result;
+    }
+}
\ No newline at end of file
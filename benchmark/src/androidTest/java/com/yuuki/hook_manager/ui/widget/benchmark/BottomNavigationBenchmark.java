@@ -0,0 +1,139 @@
+package com.yuuki.hook_manager.ui.widget.benchmark;
+
+import static org.junit.Assume.assumeTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.provider.Settings;
+import android.view.View;
+
+import androidx.annotation.RequiresApi;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.yuuki.hook_manager.ui.widget.BottomNavigation;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+/**
+ * BottomNavigation 热路径的微基准，结果由 AndroidBenchmarkRunner 写入 JSON
+ * 导航栏附加在可见窗口中，选中会真正启动动画；测量期间主线程被占用，帧回调不会执行，
+ * 逐帧的弹簧推进由 engine 模块的 JMH 基准覆盖，真实帧耗时由 macrobenchmark 模块记录
+ */
+@RunWith(AndroidJUnit4.class)
+public class BottomNavigationBenchmark {
+
+    @Rule(order = 0)
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Rule(order = 1)
+    public ActivityScenarioRule<BenchmarkActivity> activityRule =
+            new ActivityScenarioRule<>(BenchmarkActivity.class);
+
+    private List<BottomNavigation.NavigationItem> items;
+
+    @Before
+    public void setUp() {
+        items = BenchmarkActivity.createItems(BenchmarkActivity.ITEM_COUNT);
+        // 等待首次布局和绘制完成
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+    }
+
+    /**
+     * 启动或打断选中动画：重新设定弹簧目标、计算指示器位置并请求帧
+     */
+    @Test
+    public void startSelectionAnimation() {
+        assumeTrue("animator duration scale is 0", Settings.Global.getFloat(
+                InstrumentationRegistry.getInstrumentation().getTargetContext().getContentResolver(),
+                Settings.Global.ANIMATOR_DURATION_SCALE, 1f) > 0f);
+        activityRule.getScenario().onActivity(activity -> {
+            BottomNavigation bottomNav = activity.bottomNav;
+            BenchmarkState state = benchmarkRule.getState();
+            int index = 0;
+            while (state.keepRunning()) {
+                index = (index + 1) % BenchmarkActivity.ITEM_COUNT;
+                bottomNav.setSelectedIndex(index);
+            }
+        });
+    }
+
+    /**
+     * 动画中途的一帧：推进选中进度并录制到显示列表，经过 API 29+ 的导航项 RenderNode 路径
+     */
+    @Test
+    public void midAnimationFrameRenderNode() {
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q);
+        activityRule.getScenario().onActivity(activity -> {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) return;
+            BottomNavigation bottomNav = activity.bottomNav;
+            DisplayList displayList = new DisplayList(bottomNav);
+            BenchmarkState state = benchmarkRule.getState();
+            int step = 0;
+            while (state.keepRunning()) {
+                step = (step + 1) % 16;
+                bottomNav.setSelectionProgress(0, 1, step / 16f);
+                displayList.record(bottomNav);
+            }
+        });
+    }
+
+    /**
+     * 静止状态下绘制到软件 Bitmap 画布，不经过显示列表，对应关闭硬件加速的窗口
+     */
+    @Test
+    public void drawSoftware() {
+        activityRule.getScenario().onActivity(activity -> {
+            BottomNavigation bottomNav = activity.bottomNav;
+            Canvas canvas = new Canvas(Bitmap.createBitmap(bottomNav.getWidth(), bottomNav.getHeight(),
+                    Bitmap.Config.ARGB_8888));
+            BenchmarkState state = benchmarkRule.getState();
+            while (state.keepRunning()) {
+                bottomNav.draw(canvas);
+            }
+        });
+    }
+
+    @Test
+    public void setItems() {
+        activityRule.getScenario().onActivity(activity -> {
+            BottomNavigation bottomNav = activity.bottomNav;
+            BenchmarkState state = benchmarkRule.getState();
+            while (state.keepRunning()) {
+                bottomNav.setItems(items);
+            }
+        });
+    }
+
+    /**
+     * 与窗口绘制相同的硬件录制画布
+     */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private static final class DisplayList {
+        private final RenderNode node = new RenderNode("BottomNavigationBenchmark");
+
+        DisplayList(View view) {
+            node.setPosition(0, 0, view.getWidth(), view.getHeight());
+        }
+
+        void record(View view) {
+            RecordingCanvas canvas = node.beginRecording();
+            try {
+                view.draw(canvas);
+            } finally {
+                node.endRecording();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BottomNavigationEngine 每帧热路径的耗时，导航项数量覆盖常规到滚动模式的规模
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BottomNavigationEngineBenchmark {
+
+    private static final int WIDTH = 1080;
+    private static final int ITEM_HEIGHT = 240;
+    private static final float FRAME_SECONDS = 1f / 60f;
+
+    @Param({"3", "5", "10", "25", "50"})
+    public int itemCount;
+
+    private BottomNavigationEngine engine;
+    private BottomNavigationEngine.ItemStore store;
+    private final BottomNavigationEngine.ItemChangeListener listener = index -> { };
+    private final float[] geometry = new float[4];
+    private float[][] itemGeometry;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        engine = new BottomNavigationEngine();
+        engine.iconSize = 72f;
+        engine.iconTextGap = 12f;
+        engine.labelHeight = 36f;
+        engine.minIndicatorContentWidth = 96f;
+        engine.indicatorTextExtra = 24f;
+        engine.indicatorPaddingHorizontal = 36f;
+        engine.indicatorPaddingVertical = 12f;
+        engine.setDuration(300);
+
+        store = new BottomNavigationEngine.ItemStore(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            store.append();
+        }
+        engine.layoutItems(store, WIDTH, 0);
+        store.selection[0] = 1f;
+        BottomNavigationEngine.applySelection(store, 0);
+
+        itemGeometry = new float[itemCount][4];
+        for (int i = 0; i < itemCount; i++) {
+            engine.computeIndicatorGeometry(store, ITEM_HEIGHT, i, true, 120f, itemGeometry[i]);
+        }
+        engine.snapIndicator(itemGeometry[0]);
+    }
+
+    @Benchmark
+    public int layoutItems() {
+        return engine.layoutItems(store, WIDTH, 0);
+    }
+
+    @Benchmark
+    public float[] computeIndicatorGeometry() {
+        index = (index + 1) % itemCount;
+        engine.computeIndicatorGeometry(store, ITEM_HEIGHT, index, true, 120f, geometry);
+        return geometry;
+    }
+
+    /**
+     * 每次调用都切换选中项，保证始终有导航项处于运动中，相当于连续快速点击时的一帧
+     */
+    @Benchmark
+    public boolean stepSelection() {
+        index = (index + 1) % itemCount;
+        return engine.stepSelection(store, index, FRAME_SECONDS, listener);
+    }
+
+    /**
+     * 每次调用都重新设定目标，指示器不会提前静止
+     */
+    @Benchmark
+    public boolean stepIndicator() {
+        index = (index + 1) % itemCount;
+        engine.retargetIndicator(itemGeometry[index]);
+        return engine.stepIndicator(FRAME_SECONDS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,2744 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.RippleDrawable;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.PowerManager;
+import android.os.Trace;
+import android.provider.Settings;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.Choreographer;
+import android.view.Display;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+import android.view.ViewGroup;
+import android.view.animation.DecelerateInterpolator;
+import android.widget.OverScroller;
+import com.yuuki.hook_manager.ui.widget.BottomNavigationEngine.ItemStore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Material Design 3 风格的 BottomNavigation 控件
+ * 带圆角矩形背景指示器，只有选中项显示文字标签
+ */
+public class BottomNavigation extends ViewGroup {
+
+    private static final int DEFAULT_SELECTED_COLOR = 0xFF2E7D32;    // 深绿色
+    private static final int DEFAULT_UNSELECTED_COLOR = 0xFF757575;  // 保持灰色
+    private static final int DEFAULT_INDICATOR_COLOR = 0xFFE8F5E8;   // 浅绿色背景
+    private static final int DIVIDER_COLOR = 0xFFE0E0E0;
+    private static final int BADGE_COLOR = 0xFFB3261E;               // M3 错误色
+
+    private List<NavigationItem> items = new ArrayList<>();
+    private int selectedIndex = -1;
+    private int previousSelectedIndex = -1;
+    private OnItemSelectedListener listener;
+
+    private Paint textPaint;
+    private Paint dividerPaint;
+    private Paint indicatorPaint;
+    private Paint ripplePaint;
+
+    private float textSize;
+    private final Paint.FontMetrics labelFontMetrics = new Paint.FontMetrics();
+    private Locale labelLocale;
+
+    // 每个导航项标签的测量结果，只在标题、字号、字体或语言变化时重新测量
+    private List<LabelLayout> labelLayouts = new ArrayList<>();
+    private int selectedColor;
+    private int unselectedColor;
+    private int indicatorColor;
+    private boolean showDivider;
+    private boolean showLabels = true;
+    private int iconTextGap;
+
+    private RectF indicatorRect = new RectF();
+    private float indicatorCornerRadius;
+    private float indicatorProgress = 0f;
+
+    // 布局和动画计算交给与平台无关的引擎，这里只负责绘制、事件和刷新
+    private final BottomNavigationEngine engine = new BottomNavigationEngine();
+    private final BottomNavigationEngine.ItemChangeListener itemChangeListener = this::onItemAnimated;
+
+    // 导航项边界和动画状态的并行数组存储，submitItems 时与备用存储交换
+    private ItemStore itemStore = new ItemStore(8);
+    private ItemStore spareItemStore = new ItemStore(8);
+    private int itemHeight;
+    // 所有导航项等宽，命中测试直接按宽度换算索引
+    private int itemWidth;
+
+    // 滚动模式：导航项不小于最小宽度，超出部分横向滚动，只绘制可见范围内的导航项
+    private boolean scrollable = false;
+    private int minItemWidthPx;
+    private OverScroller scroller;
+    private VelocityTracker velocityTracker;
+    private boolean dragging;
+    private float lastTouchX;
+    private int minFlingVelocity;
+    private int maxFlingVelocity;
+
+    private int touchSlop;
+    private int pressedIndex = -1;
+    private float pressedX;
+    private float pressedY;
+
+    // 动画每帧累积的脏区域，软件绘制时只刷新受影响的导航项、指示器和水波纹
+    private final Rect dirtyRect = new Rect();
+    private final Rect tmpRect = new Rect();
+    private final Rect clipBounds = new Rect();
+
+    // 每个导航项一个显示列表（API 29+），只有内容变化的项才重新录制
+    private List<BottomNavigationRenderNodes.ItemNode> itemNodes = new ArrayList<>();
+    private final BottomNavigationRenderNodes.ItemPainter itemPainter = this::drawItem;
+
+    private static final int[] STATE_SELECTED = {android.R.attr.state_selected};
+    private static final int[] STATE_UNSELECTED = {};
+
+    // 每个导航项图标只 mutate 一次，选中和未选中各用一个预先创建的颜色滤镜着色，
+    // 不使用 ColorStateList 着色，后者每次 drawable state 变化都会新建滤镜
+    private List<IconState> iconStates = new ArrayList<>();
+    private ColorFilter selectedIconFilter;
+    private ColorFilter unselectedIconFilter;
+    // IconSource 图标加载完成前绘制的占位圆点
+    private Paint placeholderPaint;
+
+    // 徽标：文字和宽度在数量变化时生成一次，同一帧内的多次更新合并为一次局部刷新
+    private Paint badgePaint;
+    private Paint badgeTextPaint;
+    private final RectF badgeRect = new RectF();
+    private int badgeHeightPx;
+    private int badgePaddingPx;
+    private int badgeDotRadiusPx;
+    private float badgeTextOffsetY;
+    private boolean badgeFramePosted;
+    private final Choreographer.FrameCallback badgeFrameCallback = frameTimeNanos -> flushBadges();
+    public static final int BADGE_DOT = -1;
+    private static final int BADGE_MAX_COUNT = 99;
+
+    // 图标图集：动画期间从位图缩放绘制，避免矢量图标随尺寸变化反复栅格化
+    private IconAtlas iconAtlas;
+    private Paint atlasPaint;
+    private static final int ATLAS_COLUMNS = 16;
+    // 图集在主线程空闲时重建，不占用动画帧；重建完成前动画从原始图标绘制
+    private boolean atlasRebuildPosted;
+    private final MessageQueue.IdleHandler atlasIdleHandler = this::onAtlasIdle;
+
+    private long animationDuration = 300;
+    private boolean enableAnimation = true;
+
+    // 系统动画时长缩放为 0（关闭动画/减少动态效果）或处于省电配置时走无动画路径
+    public static final int POWER_PROFILE_AUTO = 0;
+    public static final int POWER_PROFILE_FULL = 1;
+    public static final int POWER_PROFILE_SAVER = 2;
+    private int powerProfile = POWER_PROFILE_AUTO;
+    private float durationScale = 1f;
+    private boolean systemPowerSave;
+    private BroadcastReceiver powerSaveReceiver;
+    // 只有装饰性动画（水波纹、标签淡入）时请求较低的刷新率，API 35+
+    private float requestedFrameRate = Float.NaN;
+
+    private float rippleRadius = 0f;
+    private float rippleX = 0f;
+    private float rippleY = 0f;
+    private static final long RIPPLE_DURATION = 400;
+
+    // 所有动画共用一个 Choreographer 帧回调，每帧统一推进，点击时不再创建 Animator
+    private Choreographer choreographer;
+    private final Choreographer.FrameCallback frameCallback = this::doAnimationFrame;
+    private boolean frameCallbackPosted;
+
+    private long lastFrameNanos = -1;
+
+    // 选中回调的分发策略，延迟分发时连续的选中只回调最后一次
+    public static final int DISPATCH_IMMEDIATE = 0;
+    public static final int DISPATCH_NEXT_FRAME = 1;
+    public static final int DISPATCH_AFTER_ANIMATION = 2;
+    private int dispatchPolicy = DISPATCH_IMMEDIATE;
+    private int pendingDispatchIndex = -1;
+    private boolean dispatchPosted;
+    private final Runnable dispatchRunnable = this::dispatchPendingSelection;
+    // 在下一帧回调中再 post 一次，监听器在这一帧绘制完成之后才执行
+    private final Choreographer.FrameCallback dispatchFrameCallback = frameTimeNanos -> post(dispatchRunnable);
+    private OnItemReselectedListener reselectedListener;
+
+    // 选中动画的帧统计，只有设置了监听器时才采集
+    private OnAnimationMetricsListener metricsListener;
+    private final AnimationMetrics metrics = new AnimationMetrics();
+    private boolean metricsCollecting;
+    private long metricsLastFrameNanos;
+    private long metricsInputNanos;
+    private long pendingInputNanos;
+    private long frameBudgetNanos;
+
+    // 启用后 onDraw、drawItem 和 updateIndicatorPosition 会出现在 Perfetto/Systrace 中
+    private boolean traceEnabled;
+    private static final String TRACE_DRAW = "BottomNavigation#onDraw";
+    private static final String TRACE_DRAW_ITEM = "BottomNavigation#drawItem";
+    private static final String TRACE_UPDATE_INDICATOR = "BottomNavigation#updateIndicatorPosition";
+
+    // 控件不可见或已分离时不请求帧回调，进行中的动画直接跳到终点
+    private boolean aggregatedVisible = true;
+
+    private boolean selectionRunning;
+    private boolean indicatorRunning;
+    private boolean appearRunning;
+
+    // 指示器几何信息的临时数组：中心 X、中心 Y、宽度、高度
+    private final float[] targetGeometry = new float[4];
+    private final float[] fromGeometry = new float[4];
+
+    private boolean rippleRunning;
+    private long rippleStartNanos;
+
+    // 交给 RenderThread 驱动的水波纹和指示器
+    private boolean renderThreadAnimations = false;
+    private RippleDrawable rippleDrawable;
+    private BottomNavigationRevealIndicator revealIndicator;
+    private static final int[] STATE_PRESSED = {android.R.attr.state_pressed, android.R.attr.state_enabled};
+    private static final int[] STATE_RELEASED = {android.R.attr.state_enabled};
+
+    // 预先换算好的像素尺寸，绘制和动画过程中不再访问 Resources
+    private int iconSizePx;
+    private int rippleMaxRadiusPx;
+    private int defaultHeightPx;
+    private int translateUnitPx;
+    private int labelTranslateUnitPx;
+    // 换算上面这些尺寸时的屏幕密度，密度不变时配置变化不再重新换算
+    private int resolvedDensityDpi;
+
+    // 共享资源池：样式相同的多个实例共用尺寸、标签宽度和着色图集，附加到窗口期间持有
+    private boolean sharedResourcesEnabled = false;
+    private BottomNavigationResourcePool.Entry sharedResources;
+
+    // 恢复状态时导航项或尺寸还没准备好，先记下选中项和滚动位置
+    private int pendingRestoreIndex = -1;
+    private int pendingRestoreScrollX = -1;
+
+    private DecelerateInterpolator decelerateInterpolator = new DecelerateInterpolator(2f);
+
+    // 批量更新：beginUpdate 和 endUpdate 之间的设置只记录需要重算的内容，结束时统一执行一次
+    private int updateDepth;
+    private int pendingUpdates;
+    private static final int UPDATE_TINT = 1;
+    private static final int UPDATE_LABELS = 1 << 1;
+    private static final int UPDATE_LAYOUT = 1 << 2;
+    private static final int UPDATE_INDICATOR = 1 << 3;
+    private static final int UPDATE_INDICATOR_ANIMATED = 1 << 4;
+    private static final int UPDATE_ITEMS = 1 << 5;
+    private static final int UPDATE_DRAW = 1 << 6;
+
+    public BottomNavigation(Context context) {
+        this(context, null);
+    }
+
+    public BottomNavigation(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public BottomNavigation(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr);
+    }
+
+    private void init(Context context, AttributeSet attrs, int defStyleAttr) {
+        setWillNotDraw(false);
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        scroller = new OverScroller(context);
+
+        textSize = dpToPx(12);
+        selectedColor = DEFAULT_SELECTED_COLOR;
+        unselectedColor = DEFAULT_UNSELECTED_COLOR;
+        indicatorColor = DEFAULT_INDICATOR_COLOR;
+        showDivider = false; 
+        iconTextGap = dpToPx(4);
+        indicatorCornerRadius = dpToPx(16);
+        minItemWidthPx = dpToPx(72);
+        engine.indicatorPaddingHorizontal = dpToPx(12);
+        engine.indicatorPaddingVertical = dpToPx(4);
+        engine.indicatorWrapText = true;
+        if (attrs != null) {
+            readAttributes(context, attrs, defStyleAttr);
+        }
+        // 在 XML 属性之后换算，启用共享资源时直接使用同密度实例已换算好的尺寸
+        resolveDimensions();
+        updateEngineMetrics();
+        updateEngineDuration();
+
+        textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setTextSize(textSize);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        textPaint.getFontMetrics(labelFontMetrics);
+        labelLocale = Locale.getDefault();
+
+        dividerPaint = new Paint();
+        dividerPaint.setColor(DIVIDER_COLOR);
+        dividerPaint.setStrokeWidth(dpToPx(0.5f));
+
+        indicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        indicatorPaint.setColor(indicatorColor);
+        indicatorPaint.setStyle(Paint.Style.FILL);
+
+        ripplePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        ripplePaint.setColor(selectedColor);
+        ripplePaint.setAlpha(30);
+
+        placeholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+        atlasPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+        badgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        badgePaint.setColor(BADGE_COLOR);
+        badgeTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        badgeTextPaint.setColor(Color.WHITE);
+        badgeTextPaint.setTextAlign(Paint.Align.CENTER);
+        badgeTextPaint.setTextSize(dpToPx(11));
+        Paint.FontMetrics badgeMetrics = badgeTextPaint.getFontMetrics();
+        badgeTextOffsetY = -(badgeMetrics.ascent + badgeMetrics.descent) / 2f;
+
+        updateIconFilters();
+    }
+
+    /**
+     * 读取 XML 属性，在创建画笔之前覆盖默认样式，布局加载完成时即为最终样式
+     */
+    private void readAttributes(Context context, AttributeSet attrs, int defStyleAttr) {
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.BottomNavigation, defStyleAttr, 0);
+        try {
+            selectedColor = a.getColor(R.styleable.BottomNavigation_bn_selectedColor, selectedColor);
+            unselectedColor = a.getColor(R.styleable.BottomNavigation_bn_unselectedColor, unselectedColor);
+            indicatorColor = a.getColor(R.styleable.BottomNavigation_bn_indicatorColor, indicatorColor);
+            showLabels = a.getBoolean(R.styleable.BottomNavigation_bn_showLabels, showLabels);
+            showDivider = a.getBoolean(R.styleable.BottomNavigation_bn_showDivider, showDivider);
+            textSize = a.getDimension(R.styleable.BottomNavigation_bn_labelTextSize, textSize);
+            engine.indicatorWrapText = a.getBoolean(
+                    R.styleable.BottomNavigation_bn_indicatorWrapText, engine.indicatorWrapText);
+            indicatorCornerRadius = a.getDimension(R.styleable.BottomNavigation_bn_indicatorCornerRadius, indicatorCornerRadius);
+            engine.indicatorPaddingHorizontal = a.getDimension(
+                    R.styleable.BottomNavigation_bn_indicatorPaddingHorizontal, engine.indicatorPaddingHorizontal);
+            engine.indicatorPaddingVertical = a.getDimension(
+                    R.styleable.BottomNavigation_bn_indicatorPaddingVertical, engine.indicatorPaddingVertical);
+            animationDuration = a.getInt(R.styleable.BottomNavigation_bn_animationDuration, (int) animationDuration);
+            enableAnimation = a.getBoolean(R.styleable.BottomNavigation_bn_enableAnimation, enableAnimation);
+            scrollable = a.getBoolean(R.styleable.BottomNavigation_bn_scrollable, scrollable);
+            minItemWidthPx = a.getDimensionPixelSize(R.styleable.BottomNavigation_bn_minItemWidth, minItemWidthPx);
+            sharedResourcesEnabled = a.getBoolean(R.styleable.BottomNavigation_bn_sharedResources, sharedResourcesEnabled);
+        } finally {
+            a.recycle();
+        }
+    }
+
+    /**
+     * 一次性换算绘制用到的固定尺寸
+     */
+    private void resolveDimensions() {
+        DisplayMetrics metrics = getContext().getResources().getDisplayMetrics();
+        BottomNavigationResourcePool.Dimensions dimensions = sharedResourcesEnabled
+                ? BottomNavigationResourcePool.dimensions(metrics)
+                : new BottomNavigationResourcePool.Dimensions(metrics);
+        iconSizePx = dimensions.iconSize;
+        engine.minIndicatorContentWidth = dimensions.minIndicatorContentWidth;
+        engine.indicatorTextExtra = dimensions.indicatorTextExtra;
+        rippleMaxRadiusPx = dimensions.rippleMaxRadius;
+        defaultHeightPx = dimensions.defaultHeight;
+        translateUnitPx = dimensions.translateUnit;
+        labelTranslateUnitPx = dimensions.labelTranslateUnit;
+        badgeHeightPx = dimensions.badgeHeight;
+        badgePaddingPx = dimensions.badgePadding;
+        badgeDotRadiusPx = dimensions.badgeDotRadius;
+        resolvedDensityDpi = dimensions.densityDpi;
+    }
+
+    /**
+     * 屏幕密度变化后按比例换算可由外部设置的尺寸，其余固定尺寸重新换算
+     */
+    private void onDensityChanged(float scale) {
+        resolveDimensions();
+        textSize *= scale;
+        iconTextGap = Math.round(iconTextGap * scale);
+        indicatorCornerRadius *= scale;
+        minItemWidthPx = Math.round(minItemWidthPx * scale);
+        engine.indicatorPaddingHorizontal *= scale;
+        engine.indicatorPaddingVertical *= scale;
+        textPaint.setTextSize(textSize);
+        dividerPaint.setStrokeWidth(dpToPx(0.5f));
+        badgeTextPaint.setTextSize(dpToPx(11));
+        Paint.FontMetrics badgeMetrics = badgeTextPaint.getFontMetrics();
+        badgeTextOffsetY = -(badgeMetrics.ascent + badgeMetrics.descent) / 2f;
+        for (int i = 0; i < itemStore.size; i++) {
+            itemStore.badgeTextWidth[i] = itemStore.badgeText[i] != null
+                    ? badgeTextPaint.measureText(itemStore.badgeText[i]) : 0f;
+        }
+        updateEngineMetrics();
+        markIndicatorChanged();
+        markIconAtlasChanged();
+        requestUpdate(UPDATE_LABELS | UPDATE_LAYOUT);
+    }
+
+    /**
+     * 把图标和标签尺寸同步给引擎，指示器几何信息依赖这些值
+     */
+    private void updateEngineMetrics() {
+        engine.iconSize = iconSizePx;
+        engine.iconTextGap = iconTextGap;
+        engine.labelHeight = textSize;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int heightMode = MeasureSpec.getMode(heightMeasureSpec);
+        int heightSize = MeasureSpec.getSize(heightMeasureSpec);
+
+        int defaultHeight = defaultHeightPx;
+        int height;
+
+        if (heightMode == MeasureSpec.EXACTLY) {
+            height = heightSize;
+        } else {
+            height = defaultHeight;
+            if (heightMode == MeasureSpec.AT_MOST) {
+                height = Math.min(height, heightSize);
+            }
+        }
+
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        // BottomNavigation
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateItemRects();
+    }
+
+    /**
+     * 按当前尺寸重新计算导航项边界，复用已有的 Rect 和动画状态，不会打断进行中的动画
+     */
+    private void updateItemRects() {
+        markAllItemsChanged();
+
+        int count = items.size();
+        while (itemStore.size < count) {
+            appendItemState();
+        }
+        itemStore.truncate(count);
+
+        if (count == 0) return;
+
+        itemWidth = engine.layoutItems(itemStore, getWidth(), scrollable ? minItemWidthPx : 0);
+        itemHeight = getHeight();
+
+        // 更新指示器位置，正在移动时只修改目标
+        if (selectedIndex >= 0 && selectedIndex < count) {
+            updateIndicatorPosition(selectedIndex, indicatorRunning);
+        }
+
+        int maxScrollX = getMaxScrollX();
+        if (pendingRestoreScrollX >= 0 && getWidth() > 0) {
+            scrollTo(Math.min(pendingRestoreScrollX, maxScrollX), 0);
+            pendingRestoreScrollX = -1;
+        } else if (getScrollX() > maxScrollX) {
+            scroller.abortAnimation();
+            scrollTo(maxScrollX, 0);
+        }
+    }
+
+    private int getMaxScrollX() {
+        if (!scrollable) return 0;
+        return Math.max(0, itemWidth * items.size() - getWidth());
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            scrollTo(scroller.getCurrX(), 0);
+            postInvalidateOnAnimation();
+        }
+    }
+
+    /**
+     * 滚动模式下把指定项完整滚入可见区域
+     */
+    private void ensureItemVisible(int index, boolean animate) {
+        if (!scrollable || index < 0 || index >= itemStore.size) return;
+
+        int scrollX = getScrollX();
+        int targetX = scrollX;
+        if (itemStore.left[index] < scrollX) {
+            targetX = itemStore.left[index];
+        } else if (itemStore.right[index] > scrollX + getWidth()) {
+            targetX = itemStore.right[index] - getWidth();
+        }
+        targetX = Math.max(0, Math.min(targetX, getMaxScrollX()));
+        if (targetX == scrollX) return;
+
+        scroller.abortAnimation();
+        if (animate && animationsEnabled()) {
+            scroller.startScroll(scrollX, 0, targetX - scrollX, 0, (int) animationDuration);
+            postInvalidateOnAnimation();
+        } else {
+            scrollTo(targetX, 0);
+        }
+    }
+
+    /**
+     * 在末尾追加一个静止状态的导航项：选中项在有文字位置，未选中项在无文字位置
+     */
+    private void appendItemState() {
+        int index = itemStore.append();
+        itemStore.selection[index] = index == selectedIndex ? 1f : 0f;
+        BottomNavigationEngine.applySelection(itemStore, index);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        if (traceEnabled) {
+            Trace.beginSection(TRACE_DRAW);
+            try {
+                drawBar(canvas);
+            } finally {
+                Trace.endSection();
+            }
+        } else {
+            drawBar(canvas);
+        }
+    }
+
+    private void drawBar(Canvas canvas) {
+        if (showDivider) {
+            int scrollX = getScrollX();
+            canvas.drawLine(scrollX, 0, scrollX + getWidth(), 0, dividerPaint);
+        }
+
+        if (rippleDrawable != null) {
+            rippleDrawable.draw(canvas);
+        } else if (rippleRadius > 0) {
+            canvas.drawCircle(rippleX, rippleY, rippleRadius, ripplePaint);
+        }
+
+        // 指示器由子视图绘制时，导航项在 dispatchDraw 中画在子视图上面
+        if (useRevealIndicator()) return;
+
+        if (indicatorProgress > 0 && selectedIndex >= 0) {
+            indicatorPaint.setAlpha((int)(255 * indicatorProgress));
+            canvas.drawRoundRect(indicatorRect, indicatorCornerRadius, indicatorCornerRadius, indicatorPaint);
+        }
+        drawItems(canvas);
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        if (!useRevealIndicator()) {
+            super.dispatchDraw(canvas);
+            return;
+        }
+        // 清空选中后不显示指示器
+        if (selectedIndex >= 0) {
+            super.dispatchDraw(canvas);
+        }
+        if (traceEnabled) {
+            Trace.beginSection(TRACE_DRAW);
+            try {
+                drawItems(canvas);
+            } finally {
+                Trace.endSection();
+            }
+        } else {
+            drawItems(canvas);
+        }
+    }
+
+    private void drawItems(Canvas canvas) {
+        boolean useItemNodes = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && canvas.isHardwareAccelerated();
+        if (useItemNodes) {
+            BottomNavigationRenderNodes.ensureItemNodes(itemNodes, items.size());
+        }
+
+        // 按裁剪区域直接换算出可见的导航项范围，滚动模式下不可见的项不会被绘制，
+        // 软件绘制时脏区域之外的导航项也会跳过
+        canvas.getClipBounds(clipBounds);
+        if (itemWidth <= 0) return;
+        int first = Math.max(0, clipBounds.left / itemWidth);
+        int last = Math.min(itemStore.size - 1, (clipBounds.right - 1) / itemWidth);
+        int[] left = itemStore.left;
+        int[] right = itemStore.right;
+        for (int i = first; i <= last; i++) {
+            if (!clipBounds.intersects(left[i], 0, right[i], itemHeight)) continue;
+            if (useItemNodes) {
+                BottomNavigationRenderNodes.drawItemNode(canvas, itemNodes.get(i), i,
+                        left[i], right[i], itemHeight, itemPainter);
+            } else {
+                drawItem(canvas, i);
+            }
+        }
+    }
+
+    private void markItemChanged(int index) {
+        if (index >= 0 && index < itemNodes.size()) {
+            itemNodes.get(index).dirty = true;
+        }
+    }
+
+    private void markAllItemsChanged() {
+        for (int i = 0; i < itemNodes.size(); i++) {
+            itemNodes.get(i).dirty = true;
+        }
+    }
+
+    /**
+     * 图标、着色或图标尺寸变化后作废图集，并在下一次主线程空闲时重建
+     */
+    private void markIconAtlasChanged() {
+        if (iconAtlas == null) return;
+        iconAtlas.dirty = true;
+        if (!atlasRebuildPosted && isAttachedToWindow()) {
+            atlasRebuildPosted = true;
+            Looper.myQueue().addIdleHandler(atlasIdleHandler);
+        }
+    }
+
+    private boolean onAtlasIdle() {
+        atlasRebuildPosted = false;
+        if (iconAtlas != null && iconAtlas.dirty && isAttachedToWindow()) {
+            rebuildIconAtlas();
+        }
+        return false;
+    }
+
+    /**
+     * 把所有导航项的图标按选中和未选中两种着色各栅格化一次，
+     * 每个导航项在图集中占上下两个格子
+     */
+    private void rebuildIconAtlas() {
+        IconAtlas atlas = iconAtlas;
+        int count = iconStates.size();
+        int cellSize = iconSizePx;
+
+        // 其他实例已经栅格化过同一组图标时直接使用共享的位图
+        List<Object> sharedKey = sharedResources != null ? getSharedAtlasKey(cellSize) : null;
+        if (sharedKey != null) {
+            BottomNavigationResourcePool.Atlas shared = sharedResources.atlases.get(sharedKey);
+            if (shared != null) {
+                atlas.bitmap = shared.bitmap;
+                atlas.canvas = null;
+                atlas.cellSize = shared.cellSize;
+                atlas.ready = shared.ready;
+                atlas.shared = true;
+                atlas.dirty = false;
+                return;
+            }
+        }
+        int columns = Math.max(1, Math.min(count, ATLAS_COLUMNS));
+        int rows = Math.max(1, (count + ATLAS_COLUMNS - 1) / ATLAS_COLUMNS);
+        int width = columns * cellSize;
+        int height = rows * 2 * cellSize;
+
+        // 共享的位图可能正被其他实例使用，不能擦除重画
+        if (atlas.bitmap == null || atlas.shared || sharedKey != null || atlas.cellSize != cellSize
+                || atlas.bitmap.getWidth() < width || atlas.bitmap.getHeight() < height) {
+            // 旧位图可能仍被显示列表引用，交给 GC 回收
+            atlas.bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            atlas.canvas = new Canvas(atlas.bitmap);
+        } else {
+            atlas.bitmap.eraseColor(Color.TRANSPARENT);
+        }
+        atlas.cellSize = cellSize;
+        if (atlas.ready.length < count || atlas.shared || sharedKey != null) {
+            atlas.ready = new boolean[count];
+        }
+        atlas.shared = false;
+
+        Resources res = getResources();
+        boolean borrowed = false;
+        for (int i = 0; i < count; i++) {
+            IconState iconState = iconStates.get(i);
+            if (iconState.drawable == null && iconState.source != null) {
+                iconState.prepare();
+            }
+            atlas.ready[i] = iconState.drawable != null;
+            if (!atlas.ready[i]) continue;
+
+            int left = (i % ATLAS_COLUMNS) * cellSize;
+            int top = (i / ATLAS_COLUMNS) * 2 * cellSize;
+            if (iconState.rasterize(atlas.canvas, res, left, top, cellSize,
+                    selectedIconFilter, unselectedIconFilter)) {
+                markItemChanged(i);
+                borrowed = true;
+            }
+        }
+        atlas.bitmap.prepareToDraw();
+        atlas.dirty = false;
+        // 显示列表重放的是屏幕上的 drawable，被改写过的导航项需要重新录制
+        if (borrowed) {
+            invalidate();
+        }
+
+        // 所有图标都已加载时才发布，之后这张位图不再修改
+        if (sharedKey != null && allIconsReady(atlas.ready, count)) {
+            atlas.canvas = null;
+            atlas.shared = true;
+            sharedResources.atlases.put(sharedKey,
+                    new BottomNavigationResourcePool.Atlas(atlas.bitmap, cellSize, atlas.ready));
+        }
+    }
+
+    /**
+     * 共享图集按格子尺寸和每个图标的来源区分，有图标无法识别来源时不共享
+     */
+    private List<Object> getSharedAtlasKey(int cellSize) {
+        List<Object> key = new ArrayList<>(iconStates.size() + 1);
+        key.add(cellSize);
+        for (int i = 0; i < iconStates.size(); i++) {
+            Object iconKey = iconStates.get(i).key;
+            if (iconKey == null) return null;
+            key.add(iconKey);
+        }
+        return key;
+    }
+
+    private static boolean allIconsReady(boolean[] ready, int count) {
+        for (int i = 0; i < count; i++) {
+            if (!ready[i]) return false;
+        }
+        return true;
+    }
+
+    private void drawItem(Canvas canvas, int index) {
+        if (traceEnabled) {
+            Trace.beginSection(TRACE_DRAW_ITEM);
+            try {
+                drawItemContent(canvas, index);
+            } finally {
+                Trace.endSection();
+            }
+        } else {
+            drawItemContent(canvas, index);
+        }
+    }
+
+    private void drawItemContent(Canvas canvas, int index) {
+        ItemStore store = itemStore;
+        if (index >= store.size || index >= iconStates.size()) return;
+
+        NavigationItem item = items.get(index);
+        int centerX = (store.left[index] + store.right[index]) >> 1;
+        float appear = store.appear[index];
+        float translateY = store.translateY[index];
+        float labelAlpha = store.labelAlpha[index];
+        boolean isSelected = index == selectedIndex;
+
+        canvas.save();
+
+        // 新插入的导航项从中心放大淡入
+        if (appear < 1f) {
+            float appearScale = 0.8f + 0.2f * appear;
+            canvas.scale(appearScale, appearScale, centerX, itemHeight >> 1);
+        }
+
+        float baseIconSize = iconSizePx;
+        float iconSize = baseIconSize * store.iconScale[index];
+
+        float iconY;
+
+        // 计算两种布局下的图标Y位置
+        float iconYWithoutText = (itemHeight - iconSize) / 2;
+        float iconYWithText;
+
+        if (showLabels && item.title != null) {
+            float totalHeight = iconSize + iconTextGap + textSize;
+            float startY = (itemHeight - totalHeight) / 2;
+            iconYWithText = startY;
+        } else {
+            iconYWithText = iconYWithoutText;  // 如果不显示标签，两个位置相同
+        }
+
+        iconY = iconYWithoutText + (iconYWithText - iconYWithoutText) * store.iconPositionProgress[index];
+        iconY += translateY * translateUnitPx;
+
+        boolean shouldShowLabel = showLabels && item.title != null && labelAlpha > 0.01f;
+
+        IconState iconState = iconStates.get(index);
+        if (iconState.drawable == null && iconState.source != null) {
+            iconState.prepare();
+        }
+        int iconAlpha = (int)(255 * (0.6f + 0.4f * store.alpha[index]) * appear);
+        // 弹簧静止后重新用原始图标按实际尺寸绘制
+        boolean animating = store.selectionVelocity[index] != 0f || appear < 1f;
+        if (iconAtlas != null && animating && !iconAtlas.dirty
+                && index < iconAtlas.ready.length && iconAtlas.ready[index]) {
+            int cellSize = iconAtlas.cellSize;
+            int cellLeft = (index % ATLAS_COLUMNS) * cellSize;
+            int cellTop = (index / ATLAS_COLUMNS) * 2 * cellSize + (isSelected ? 0 : cellSize);
+            iconAtlas.src.set(cellLeft, cellTop, cellLeft + cellSize, cellTop + cellSize);
+            float iconLeft = centerX - iconSize / 2;
+            iconAtlas.dst.set(iconLeft, iconY, iconLeft + iconSize, iconY + iconSize);
+            atlasPaint.setAlpha(iconAlpha);
+            canvas.drawBitmap(iconAtlas.bitmap, iconAtlas.src, iconAtlas.dst, atlasPaint);
+        } else if (iconState.drawable != null) {
+            int iconLeft = centerX - (int)(iconSize / 2);
+            int iconTop = (int)iconY;
+
+            iconState.apply(isSelected, isSelected ? selectedIconFilter : unselectedIconFilter,
+                    iconAlpha, iconLeft, iconTop, (int)iconSize);
+            iconState.drawable.draw(canvas);
+        } else if (item.iconSource != null) {
+            // 第一次进入可见区域时才开始加载，失败后等到重新提交或附加时再试
+            if (!iconState.loading && !iconState.loadFailed) {
+                requestIcon(item.iconSource, iconState);
+            }
+            placeholderPaint.setColor(isSelected ? selectedColor : unselectedColor);
+            placeholderPaint.setAlpha(iconAlpha / 5);
+            canvas.drawCircle(centerX, iconY + iconSize / 2, iconSize * 0.4f, placeholderPaint);
+        }
+
+        if (shouldShowLabel) {
+            int textColor = selectedColor;
+            textPaint.setColor(textColor);
+
+            int textAlpha = (int)(255 * labelAlpha * appear);
+            textPaint.setAlpha(textAlpha);
+
+            float textX = centerX;
+            float textY = iconY + iconSize + iconTextGap - labelFontMetrics.top
+                    + translateY * labelTranslateUnitPx;
+
+            float labelScale = store.labelScale[index];
+            canvas.save();
+            canvas.scale(labelScale, labelScale, textX, textY);
+            canvas.drawText(item.title, textX, textY, textPaint);
+            canvas.restore();
+
+            textPaint.setAlpha(255);
+        }
+
+        // 按已生成的徽标状态绘制，数量变化在下一个 vsync 统一生效
+        if (store.badgeShownCount[index] != 0) {
+            drawBadge(canvas, index, centerX + iconSize / 2, iconY, appear);
+        }
+
+        canvas.restore();
+    }
+
+    /**
+     * 徽标的左下角贴在图标右上角，数字徽标使用缓存的文字和宽度
+     */
+    private void drawBadge(Canvas canvas, int index, float iconRight, float iconTop, float appear) {
+        ItemStore store = itemStore;
+        badgePaint.setAlpha((int) (255 * appear));
+        if (store.badgeText[index] == null) {
+            canvas.drawCircle(iconRight, iconTop + badgeDotRadiusPx, badgeDotRadiusPx, badgePaint);
+            return;
+        }
+
+        float width = getBadgeWidth(index);
+        float left = iconRight - badgeHeightPx / 2f;
+        float top = iconTop - badgeHeightPx / 2f;
+        badgeRect.set(left, top, left + width, top + badgeHeightPx);
+        float radius = badgeHeightPx / 2f;
+        canvas.drawRoundRect(badgeRect, radius, radius, badgePaint);
+
+        badgeTextPaint.setAlpha((int) (255 * appear));
+        canvas.drawText(store.badgeText[index], badgeRect.centerX(),
+                badgeRect.centerY() + badgeTextOffsetY, badgeTextPaint);
+    }
+
+    private float getBadgeWidth(int index) {
+        return Math.max(badgeHeightPx, itemStore.badgeTextWidth[index] + badgePaddingPx * 2);
+    }
+
+    /**
+     * 徽标可能出现的区域：水平方向是徽标宽度，垂直方向覆盖图标的整个移动范围
+     */
+    private void dirtyBadge(int index) {
+        if (itemStore.badgeCount[index] == 0 && itemStore.badgeShownCount[index] == 0) return;
+        int centerX = (itemStore.left[index] + itemStore.right[index]) >> 1;
+        float iconRight = centerX + iconSizePx / 2f;
+        int left = (int) (iconRight - badgeHeightPx / 2f) - 1;
+        int right = (int) Math.ceil(iconRight + Math.max(getBadgeWidth(index), badgeDotRadiusPx * 2)
+                + iconSizePx * 0.1f) + 1;
+        dirtyRect.union(left, 0, right, itemHeight);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        // 换算到内容坐标，导航项边界和水波纹都使用内容坐标
+        float x = event.getX() + getScrollX();
+        float y = event.getY();
+
+        if (scrollable) {
+            if (velocityTracker == null) {
+                velocityTracker = VelocityTracker.obtain();
+            }
+            velocityTracker.addMovement(event);
+        }
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                // 按下时停止惯性滚动
+                if (!scroller.isFinished()) {
+                    scroller.abortAnimation();
+                }
+                dragging = false;
+                lastTouchX = event.getX();
+                pressedIndex = hitTestItem(x, y);
+                pressedX = x;
+                pressedY = y;
+                // 已选中项不再触发水波纹
+                if (pressedIndex >= 0 && pressedIndex != selectedIndex) {
+                    startRippleAnimation(x, y, pressedIndex);
+                }
+                return true;
+
+            case MotionEvent.ACTION_MOVE:
+                if (scrollable && getMaxScrollX() > 0) {
+                    if (!dragging && Math.abs(x - pressedX) > touchSlop) {
+                        // 开始横向拖动后取消按下，并阻止父容器拦截
+                        dragging = true;
+                        cancelPress();
+                        ViewParent parent = getParent();
+                        if (parent != null) {
+                            parent.requestDisallowInterceptTouchEvent(true);
+                        }
+                    }
+                    if (dragging) {
+                        scrollByClamped((int) (lastTouchX - event.getX()));
+                        lastTouchX = event.getX();
+                        return true;
+                    }
+                }
+                lastTouchX = event.getX();
+                if (pressedIndex >= 0 && hitTestItem(x, y) != pressedIndex
+                        && (Math.abs(x - pressedX) > touchSlop || Math.abs(y - pressedY) > touchSlop)) {
+                    cancelPress();
+                }
+                return true;
+
+            case MotionEvent.ACTION_UP:
+                if (dragging) {
+                    fling();
+                    endDrag();
+                    return true;
+                }
+                recycleVelocityTracker();
+                releaseRipple();
+                int index = pressedIndex;
+                pressedIndex = -1;
+                if (index >= 0 && hitTestItem(x, y) == index) {
+                    // 重复点击已选中项时不做任何动画，只回调轻量的 onItemReselected
+                    if (index != selectedIndex) {
+                        if (metricsListener != null) {
+                            // 事件时间与帧时间同为开机后的单调时钟
+                            pendingInputNanos = event.getEventTime() * 1_000_000L;
+                        }
+                        setSelectedIndex(index);
+                    } else if (reselectedListener != null) {
+                        reselectedListener.onItemReselected(index, items.get(index));
+                    }
+                    performClick();
+                    return true;
+                }
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                cancelPress();
+                endDrag();
+                return true;
+        }
+        return super.onTouchEvent(event);
+    }
+
+    private void scrollByClamped(int dx) {
+        int scrollX = Math.max(0, Math.min(getScrollX() + dx, getMaxScrollX()));
+        if (scrollX != getScrollX()) {
+            scrollTo(scrollX, 0);
+        }
+    }
+
+    private void fling() {
+        if (velocityTracker == null) return;
+        velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+        int velocityX = (int) velocityTracker.getXVelocity();
+        if (Math.abs(velocityX) > minFlingVelocity) {
+            scroller.fling(getScrollX(), 0, -velocityX, 0, 0, getMaxScrollX(), 0, 0);
+            postInvalidateOnAnimation();
+        }
+    }
+
+    private void endDrag() {
+        dragging = false;
+        recycleVelocityTracker();
+    }
+
+    private void recycleVelocityTracker() {
+        if (velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    /**
+     * 按等宽布局直接换算触摸点所在的导航项
+     * @return 不在任何导航项上时返回 -1
+     */
+    private int hitTestItem(float x, float y) {
+        if (itemWidth <= 0 || x < 0 || y < 0 || y >= getHeight()) return -1;
+        if (x < getScrollX() || x >= getScrollX() + getWidth()) return -1;
+        int index = (int) (x / itemWidth);
+        return index < items.size() ? index : -1;
+    }
+
+    private void cancelPress() {
+        pressedIndex = -1;
+        releaseRipple();
+        if (rippleRunning) {
+            dirtyRipple();
+            rippleRunning = false;
+            rippleRadius = 0f;
+            invalidateDirty();
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        super.performClick();
+        return true;
+    }
+
+    private void startRippleAnimation(float x, float y, int index) {
+        if (renderThreadAnimations) {
+            // RenderThread 上的动画不经过 scheduleAnimationFrame，需要自己检查
+            if (isAnimationAllowed()) {
+                startRenderThreadRipple(x, y, index);
+            }
+            return;
+        }
+        if (!animationsEnabled()) return;
+
+        if (rippleRunning) {
+            dirtyRipple();
+        }
+
+        rippleX = x;
+        rippleY = y;
+        rippleRadius = 0f;
+        rippleRunning = true;
+        rippleStartNanos = -1;
+        scheduleAnimationFrame();
+    }
+
+    /**
+     * RippleDrawable 的按下/抬起动画在硬件加速时由 RenderThread 驱动，
+     * 主线程卡顿时水波纹依然流畅
+     */
+    private void startRenderThreadRipple(float x, float y, int index) {
+        if (rippleDrawable == null) {
+            rippleDrawable = new RippleDrawable(ColorStateList.valueOf(getRippleColor()), null, null);
+            rippleDrawable.setRadius(rippleMaxRadiusPx);
+            rippleDrawable.setCallback(this);
+        }
+        rippleDrawable.setBounds(itemStore.left[index], 0, itemStore.right[index], itemHeight);
+        rippleDrawable.setHotspot(x, y);
+        rippleDrawable.setState(STATE_PRESSED);
+    }
+
+    private void releaseRipple() {
+        if (rippleDrawable != null) {
+            rippleDrawable.setState(STATE_RELEASED);
+        }
+    }
+
+    private int getRippleColor() {
+        return (selectedColor & 0x00FFFFFF) | (30 << 24);
+    }
+
+    @Override
+    protected boolean verifyDrawable(Drawable who) {
+        return who == rippleDrawable || super.verifyDrawable(who);
+    }
+
+    @Override
+    public void jumpDrawablesToCurrentState() {
+        super.jumpDrawablesToCurrentState();
+        if (rippleDrawable != null) {
+            rippleDrawable.jumpToCurrentState();
+        }
+    }
+
+    private void updateIndicatorPosition(int index, boolean animate) {
+        if (traceEnabled) {
+            Trace.beginSection(TRACE_UPDATE_INDICATOR);
+            try {
+                applyIndicatorPosition(index, animate);
+            } finally {
+                Trace.endSection();
+            }
+        } else {
+            applyIndicatorPosition(index, animate);
+        }
+    }
+
+    private void applyIndicatorPosition(int index, boolean animate) {
+        if (!computeIndicatorGeometry(index, targetGeometry)) return;
+
+        if (useRevealIndicator()) {
+            // 主线程只记录终点，动画完全交给 RenderThread，系统动画缩放由动画自己应用
+            indicatorRunning = false;
+            engine.snapIndicator(targetGeometry);
+            updateIndicatorRect(targetGeometry[0], targetGeometry[1], targetGeometry[2], targetGeometry[3]);
+            revealIndicator.moveTo(index, indicatorRect, animate && isAnimationAllowed(), animationDuration);
+            return;
+        }
+
+        if (animate && animationsEnabled()) {
+            // 保留当前位置和速度，只修改目标
+            engine.retargetIndicator(targetGeometry);
+            indicatorRunning = true;
+            scheduleAnimationFrame();
+        } else {
+            engine.snapIndicator(targetGeometry);
+            updateIndicatorRect(targetGeometry[0], targetGeometry[1], targetGeometry[2], targetGeometry[3]);
+        }
+    }
+
+    /**
+     * 计算指示器停在某一项时的几何信息
+     * @param out 依次写入中心 X、中心 Y、宽度、高度
+     * @return 索引无效时返回 false
+     */
+    private boolean computeIndicatorGeometry(int index, float[] out) {
+        if (index < 0 || index >= itemStore.size) return false;
+
+        boolean hasLabel = showLabels && items.get(index).title != null;
+        float labelWidth = hasLabel && engine.indicatorWrapText ? getLabelWidth(index) : 0f;
+        return engine.computeIndicatorGeometry(itemStore, itemHeight, index, hasLabel, labelWidth, out);
+    }
+
+    private void dirtyItem(int index) {
+        if (index >= 0 && index < itemStore.size) {
+            dirtyRect.union(itemStore.left[index], 0, itemStore.right[index], itemHeight);
+        }
+    }
+
+    private void dirtyIndicator() {
+        if (!indicatorRect.isEmpty()) {
+            indicatorRect.roundOut(tmpRect);
+            // 抗锯齿边缘会多出一个像素
+            tmpRect.inset(-1, -1);
+            dirtyRect.union(tmpRect);
+        }
+    }
+
+    private void dirtyRipple() {
+        if (rippleRadius > 0) {
+            int radius = (int) Math.ceil(rippleRadius) + 1;
+            dirtyRect.union(
+                    (int) rippleX - radius,
+                    (int) rippleY - radius,
+                    (int) rippleX + radius,
+                    (int) rippleY + radius
+            );
+        }
+    }
+
+    /**
+     * 刷新累积的脏区域
+     * 硬件加速时系统从 API 21 起忽略 invalidate(Rect) 的区域，直接整体重绘，
+     * 此时节省来自各导航项的 RenderNode：未变化的项直接重放，不重新录制；
+     * 只有软件绘制（关闭硬件加速或软件层）才按脏区域裁剪
+     */
+    @SuppressWarnings("deprecation")
+    private void invalidateDirty() {
+        if (dirtyRect.isEmpty()) return;
+        if (isHardwareAccelerated()) {
+            invalidate();
+        } else {
+            invalidate(dirtyRect);
+        }
+        dirtyRect.setEmpty();
+    }
+
+    private void updateIndicatorRectFromEngine() {
+        updateIndicatorRect(engine.indicatorCenterX.value, engine.indicatorCenterY.value,
+                Math.max(0f, engine.indicatorWidth.value), Math.max(0f, engine.indicatorHeight.value));
+    }
+
+    private void updateIndicatorRect(float centerX, float centerY, float width, float height) {
+        indicatorRect.set(
+                centerX - width / 2,
+                centerY - height / 2,
+                centerX + width / 2,
+                centerY + height / 2
+        );
+    }
+
+    public void addItem(NavigationItem item) {
+        items.add(item);
+        iconStates.add(createIconState(item));
+        labelLayouts.add(new LabelLayout());
+        appendItemState();
+        markIconAtlasChanged();
+
+        if (items.size() == 1 && selectedIndex < 0) {
+            setSelectedIndex(0);
+        }
+
+        updateItemRects();
+        invalidate();
+    }
+
+    public void setSelectedIndex(int index) {
+        if (index >= 0 && index < items.size()) {
+            if (index != selectedIndex) {
+                previousSelectedIndex = selectedIndex;
+                selectedIndex = index;
+                ensureItemVisible(index, true);
+
+                if (animationsEnabled()) {
+                    startMetrics();
+                    animateSelection();
+                    updateIndicatorPosition(index, true);
+                } else {
+                    updateSelectionStates();
+                    updateIndicatorPosition(index, false);
+                    invalidate();
+                }
+                pendingInputNanos = 0;
+
+                notifyItemSelected(index);
+            }
+        }
+    }
+
+    /**
+     * 按分发策略回调选中监听器，尚未分发的选中会被新的选中覆盖，只分发最终结果
+     */
+    private void notifyItemSelected(int index) {
+        if (listener == null) return;
+        pendingDispatchIndex = index;
+        switch (dispatchPolicy) {
+            case DISPATCH_NEXT_FRAME:
+                // 隐藏时不会再绘制，不必等待下一帧
+                if (!isShownOnScreen()) {
+                    dispatchPendingSelection();
+                } else if (!dispatchPosted) {
+                    dispatchPosted = true;
+                    getChoreographer().postFrameCallback(dispatchFrameCallback);
+                }
+                break;
+            case DISPATCH_AFTER_ANIMATION:
+                if (!selectionRunning && !indicatorRunning) {
+                    dispatchPendingSelection();
+                }
+                break;
+            default:
+                dispatchPendingSelection();
+                break;
+        }
+    }
+
+    private void dispatchPendingSelection() {
+        dispatchPosted = false;
+        int index = pendingDispatchIndex;
+        pendingDispatchIndex = -1;
+        if (listener == null || index < 0 || index >= items.size()) return;
+
+        if (metricsCollecting) {
+            long start = System.nanoTime();
+            listener.onItemSelected(index, items.get(index));
+            metrics.listenerNanos = System.nanoTime() - start;
+        } else {
+            listener.onItemSelected(index, items.get(index));
+        }
+    }
+
+    /**
+     * 开始统计一次选中动画，帧预算取自当前屏幕刷新率
+     */
+    private void startMetrics() {
+        if (metricsListener == null) return;
+        Display display = getDisplay();
+        float refreshRate = display != null ? display.getRefreshRate() : 60f;
+        frameBudgetNanos = (long) (1_000_000_000L / Math.max(1f, refreshRate));
+        metrics.reset();
+        metrics.frameBudgetNanos = frameBudgetNanos;
+        metricsInputNanos = pendingInputNanos;
+        metricsLastFrameNanos = -1;
+        metricsCollecting = true;
+    }
+
+    /**
+     * 以 Choreographer 帧时间记录帧间隔，超过 1.5 倍帧预算视为掉帧
+     */
+    private void recordMetricsFrame(long frameTimeNanos) {
+        AnimationMetrics m = metrics;
+        m.framesRendered++;
+        if (metricsLastFrameNanos < 0) {
+            // 代码触发的选中没有对应的触摸事件
+            m.inputToFirstFrameNanos = metricsInputNanos > 0 ? frameTimeNanos - metricsInputNanos : -1;
+        } else {
+            long interval = frameTimeNanos - metricsLastFrameNanos;
+            if (interval > m.worstFrameNanos) {
+                m.worstFrameNanos = interval;
+            }
+            if (interval * 2 > frameBudgetNanos * 3) {
+                m.framesOverBudget++;
+            }
+        }
+        metricsLastFrameNanos = frameTimeNanos;
+    }
+
+    private void finishMetrics() {
+        metricsCollecting = false;
+        if (metricsListener != null) {
+            metricsListener.onAnimationMetrics(metrics);
+        }
+    }
+
+    /**
+     * 由手势直接驱动选中过渡（例如 ViewPager2 的滑动偏移），不创建动画，也不回调监听器
+     * @param fromIndex 起始项
+     * @param toIndex 目标项
+     * @param fraction 过渡进度，0 停在起始项，1 停在目标项
+     */
+    public void setSelectionProgress(int fromIndex, int toIndex, float fraction) {
+        if (fromIndex < 0 || fromIndex >= itemStore.size
+                || toIndex < 0 || toIndex >= itemStore.size) return;
+
+        fraction = Math.min(1f, Math.max(0f, fraction));
+
+        // 手势接管期间停止弹簧
+        selectionRunning = false;
+        indicatorRunning = false;
+
+        // 着色跟随更接近的一项
+        int dominantIndex = fraction >= 0.5f ? toIndex : fromIndex;
+        if (dominantIndex != selectedIndex) {
+            previousSelectedIndex = selectedIndex;
+            selectedIndex = dominantIndex;
+        }
+
+        engine.applySelectionProgress(itemStore, fromIndex, toIndex, fraction, itemChangeListener);
+
+        computeIndicatorGeometry(fromIndex, fromGeometry);
+        computeIndicatorGeometry(toIndex, targetGeometry);
+
+        dirtyIndicator();
+        engine.interpolateIndicator(fromGeometry, targetGeometry, fraction);
+        indicatorProgress = 1f;
+        updateIndicatorRectFromEngine();
+        dirtyIndicator();
+        if (useRevealIndicator()) {
+            revealIndicator.moveTo(dominantIndex, indicatorRect, false, 0);
+        }
+
+        invalidateDirty();
+    }
+
+    /**
+     * 手势结束时提交选中项，从当前插值位置直接收尾，不重放完整的选中动画，也不回调监听器
+     */
+    public void commitSelectionProgress(int index) {
+        if (index < 0 || index >= items.size()) return;
+
+        if (index != selectedIndex) {
+            previousSelectedIndex = selectedIndex;
+            selectedIndex = index;
+            markItemChanged(previousSelectedIndex);
+            markItemChanged(selectedIndex);
+        }
+        ensureItemVisible(index, true);
+
+        if (animationsEnabled()) {
+            selectionRunning = true;
+            engine.indicatorFade.target = 1f;
+            updateIndicatorPosition(index, true);
+        } else {
+            updateSelectionStates();
+            invalidate();
+        }
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * 设置导航项的徽标
+     * @param count 大于 0 显示数字（超过 99 显示 99+），BADGE_DOT 显示圆点，0 隐藏
+     */
+    public void setBadge(int index, int count) {
+        if (index < 0 || index >= itemStore.size) return;
+        if (itemStore.badgeCount[index] == count) return;
+        itemStore.badgeCount[index] = count;
+
+        // 隐藏时不请求帧，直接生成文字
+        if (!isShownOnScreen()) {
+            flushBadges();
+            return;
+        }
+        // 同一帧内的多次更新只在下一个 vsync 生成一次文字并刷新一次
+        if (!badgeFramePosted) {
+            getChoreographer().postFrameCallback(badgeFrameCallback);
+            badgeFramePosted = true;
+        }
+    }
+
+    public void clearBadge(int index) {
+        setBadge(index, 0);
+    }
+
+    public int getBadge(int index) {
+        return index >= 0 && index < itemStore.size ? itemStore.badgeCount[index] : 0;
+    }
+
+    /**
+     * 为数量发生变化的徽标生成文字并测量宽度，只重新录制对应的导航项，
+     * 软件绘制时只刷新新旧徽标覆盖的区域
+     */
+    private void flushBadges() {
+        badgeFramePosted = false;
+        ItemStore store = itemStore;
+        for (int i = 0; i < store.size; i++) {
+            int count = store.badgeCount[i];
+            if (count == store.badgeShownCount[i]) continue;
+
+            dirtyBadge(i);
+            if (count > 0) {
+                String text = count > BADGE_MAX_COUNT ? BADGE_MAX_COUNT + "+" : Integer.toString(count);
+                if (!text.equals(store.badgeText[i])) {
+                    store.badgeText[i] = text;
+                    store.badgeTextWidth[i] = badgeTextPaint.measureText(text);
+                }
+            } else {
+                store.badgeText[i] = null;
+                store.badgeTextWidth[i] = 0f;
+            }
+            store.badgeShownCount[i] = count;
+            dirtyBadge(i);
+            markItemChanged(i);
+        }
+        invalidateDirty();
+    }
+
+    private void animateSelection() {
+        selectionRunning = true;
+        if (!useRevealIndicator()) {
+            engine.indicatorFade.target = 1f;
+            indicatorRunning = true;
+        }
+        scheduleAnimationFrame();
+    }
+
+    /**
+     * 指示器交给子视图的揭示动画，只在硬件加速时可用
+     */
+    private boolean useRevealIndicator() {
+        return revealIndicator != null && isHardwareAccelerated();
+    }
+
+    private Choreographer getChoreographer() {
+        if (choreographer == null) {
+            choreographer = Choreographer.getInstance();
+        }
+        return choreographer;
+    }
+
+    private void scheduleAnimationFrame() {
+        if (!isAnimationAllowed()) {
+            finishAnimations();
+            return;
+        }
+        if (frameCallbackPosted) return;
+        getChoreographer().postFrameCallback(frameCallback);
+        frameCallbackPosted = true;
+    }
+
+    private boolean isAnimationAllowed() {
+        return isShownOnScreen() && animationsEnabled();
+    }
+
+    /**
+     * 控件不可见时不向 Choreographer 请求任何帧
+     */
+    private boolean isShownOnScreen() {
+        return isAttachedToWindow() && aggregatedVisible && getWindowVisibility() == VISIBLE;
+    }
+
+    /**
+     * 移除所有帧回调，动画推进到终点，徽标立即处理
+     * 隐藏和分离发生在生命周期回调中，此时不能调用应用代码（例如提交 Fragment 事务），
+     * 尚未分发的选中保留到重新显示后的下一帧
+     */
+    private void cancelFrameCallbacks() {
+        finishAnimations(false);
+        if (badgeFramePosted) {
+            choreographer.removeFrameCallback(badgeFrameCallback);
+            flushBadges();
+        }
+        if (dispatchPosted) {
+            choreographer.removeFrameCallback(dispatchFrameCallback);
+            removeCallbacks(dispatchRunnable);
+            dispatchPosted = false;
+        }
+    }
+
+    /**
+     * 重新显示后在下一帧分发隐藏期间保留的选中
+     */
+    private void postPendingDispatch() {
+        if (pendingDispatchIndex < 0 || dispatchPosted || !isShownOnScreen()) return;
+        dispatchPosted = true;
+        getChoreographer().postFrameCallback(dispatchFrameCallback);
+    }
+
+    private void finishAnimations() {
+        finishAnimations(true);
+    }
+
+    /**
+     * 移除帧回调，并把所有进行中的动画直接推进到终点，重新显示时画面已是最终状态
+     * 控件仍在屏幕上时（关闭动画、进入省电模式）需要重绘，否则会停在动画中途的画面
+     * @param dispatch 是否立即分发等待动画结束的选中
+     */
+    private void finishAnimations(boolean dispatch) {
+        if (frameCallbackPosted) {
+            choreographer.removeFrameCallback(frameCallback);
+            frameCallbackPosted = false;
+        }
+        lastFrameNanos = -1;
+        boolean changed = false;
+
+        if (appearRunning) {
+            appearRunning = false;
+            for (int i = 0; i < itemStore.size; i++) {
+                itemStore.appear[i] = 1f;
+                itemStore.appearVelocity[i] = 0f;
+            }
+            markAllItemsChanged();
+            changed = true;
+        }
+        if (selectionRunning || indicatorRunning) {
+            indicatorRunning = false;
+            updateSelectionStates();
+            changed = true;
+        }
+        if (rippleRunning || rippleRadius > 0) {
+            rippleRunning = false;
+            rippleRadius = 0f;
+            changed = true;
+        }
+        if (rippleDrawable != null) {
+            releaseRipple();
+            rippleDrawable.jumpToCurrentState();
+        }
+        if (!scroller.isFinished()) {
+            int finalX = Math.max(0, Math.min(scroller.getFinalX(), getMaxScrollX()));
+            scroller.abortAnimation();
+            scrollTo(finalX, 0);
+        }
+        pressedIndex = -1;
+        endDrag();
+        // 被跳过的动画不上报统计
+        metricsCollecting = false;
+        if (revealIndicator != null) {
+            revealIndicator.end();
+        }
+        if (dispatch && pendingDispatchIndex >= 0 && dispatchPolicy == DISPATCH_AFTER_ANIMATION) {
+            dispatchPendingSelection();
+        }
+        if (changed) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        readDurationScale();
+        registerPowerSaveReceiver();
+        updateSharedResources(true);
+        markAllItemsChanged();
+        // 分离时释放了图集位图
+        markIconAtlasChanged();
+        for (IconState iconState : iconStates) {
+            iconState.loadFailed = false;
+        }
+        // 附加后才知道是否硬件加速，指示器可能需要交给子视图
+        if (revealIndicator != null && selectedIndex >= 0) {
+            updateIndicatorPosition(selectedIndex, false);
+        }
+        invalidate();
+    }
+
+    /**
+     * 分离时结束所有动画，并释放显示列表和图集位图，帧回调不再持有控件
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        unregisterPowerSaveReceiver();
+        cancelFrameCallbacks();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            BottomNavigationRenderNodes.discardItemNodes(itemNodes);
+        }
+        if (atlasRebuildPosted) {
+            Looper.myQueue().removeIdleHandler(atlasIdleHandler);
+            atlasRebuildPosted = false;
+        }
+        if (iconAtlas != null) {
+            iconAtlas.bitmap = null;
+            iconAtlas.canvas = null;
+            iconAtlas.shared = false;
+            iconAtlas.dirty = true;
+        }
+        updateSharedResources(false);
+    }
+
+    @Override
+    public void onVisibilityAggregated(boolean isVisible) {
+        super.onVisibilityAggregated(isVisible);
+        aggregatedVisible = isVisible;
+        if (!isVisible) {
+            cancelFrameCallbacks();
+        } else {
+            postPendingDispatch();
+        }
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (visibility != VISIBLE) {
+            cancelFrameCallbacks();
+        } else {
+            postPendingDispatch();
+        }
+    }
+
+    /**
+     * 每帧推进选中、指示器和水波纹动画，全部结束后不再请求下一帧
+     */
+    private void doAnimationFrame(long frameTimeNanos) {
+        frameCallbackPosted = false;
+        float dt = lastFrameNanos < 0 ? 0f : (frameTimeNanos - lastFrameNanos) / 1_000_000_000f;
+        lastFrameNanos = frameTimeNanos;
+        boolean running = false;
+
+        if (metricsCollecting) {
+            recordMetricsFrame(frameTimeNanos);
+        }
+
+        if (selectionRunning) {
+            selectionRunning = engine.stepSelection(itemStore, selectedIndex, dt, itemChangeListener);
+            running |= selectionRunning;
+        }
+
+        if (appearRunning) {
+            appearRunning = engine.stepAppear(itemStore, dt, itemChangeListener);
+            running |= appearRunning;
+        }
+
+        if (indicatorRunning) {
+            // 新旧两个位置都要刷新，覆盖指示器扫过的区域
+            dirtyIndicator();
+            boolean moving = engine.stepIndicator(dt);
+            indicatorProgress = Math.min(1f, Math.max(0f, engine.indicatorFade.value));
+            updateIndicatorRectFromEngine();
+            dirtyIndicator();
+            indicatorRunning = moving;
+            running |= moving;
+        }
+
+        if (rippleRunning) {
+            if (rippleStartNanos < 0) rippleStartNanos = frameTimeNanos;
+            float fraction = frameFraction(rippleStartNanos, frameTimeNanos, RIPPLE_DURATION);
+            dirtyRipple();
+            if (fraction >= 1f) {
+                rippleRunning = false;
+                rippleRadius = 0f;
+            } else {
+                float eased = decelerateInterpolator.getInterpolation(fraction);
+                rippleRadius = rippleMaxRadiusPx * eased;
+                ripplePaint.setAlpha((int)(30 * (1f - eased)));
+                dirtyRipple();
+                running = true;
+            }
+        }
+
+        invalidateDirty();
+
+        if (pendingDispatchIndex >= 0 && dispatchPolicy == DISPATCH_AFTER_ANIMATION
+                && !selectionRunning && !indicatorRunning) {
+            dispatchPendingSelection();
+        }
+
+        if (metricsCollecting && !selectionRunning && !indicatorRunning) {
+            finishMetrics();
+        }
+
+        if (running) {
+            // 指示器移动时保持默认刷新率，只剩水波纹、标签淡入等装饰性动画时降低刷新率
+            updateRequestedFrameRate(indicatorRunning);
+            scheduleAnimationFrame();
+        } else {
+            updateRequestedFrameRate(true);
+            lastFrameNanos = -1;
+        }
+    }
+
+    private void updateRequestedFrameRate(boolean fullRate) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.VANILLA_ICE_CREAM) return;
+        float rate = fullRate ? REQUESTED_FRAME_RATE_CATEGORY_DEFAULT : REQUESTED_FRAME_RATE_CATEGORY_NORMAL;
+        if (Float.compare(rate, requestedFrameRate) != 0) {
+            requestedFrameRate = rate;
+            setRequestedFrameRate(rate);
+        }
+    }
+
+    private static float frameFraction(long startNanos, long frameTimeNanos, long durationMs) {
+        if (durationMs <= 0) return 1f;
+        float fraction = (frameTimeNanos - startNanos) / (durationMs * 1_000_000f);
+        return Math.min(1f, Math.max(0f, fraction));
+    }
+
+    /**
+     * 引擎推进某一项的动画值后，重新录制该项并加入脏区域
+     */
+    private void onItemAnimated(int index) {
+        markItemChanged(index);
+        dirtyItem(index);
+    }
+
+    /**
+     * 所有导航项直接落到选中/未选中的静止状态
+     */
+    private void settleItemStates() {
+        markAllItemsChanged();
+        for (int i = 0; i < itemStore.size; i++) {
+            itemStore.selection[i] = i == selectedIndex ? 1f : 0f;
+            itemStore.selectionVelocity[i] = 0f;
+            BottomNavigationEngine.applySelection(itemStore, i);
+        }
+    }
+
+    private void updateSelectionStates() {
+        selectionRunning = false;
+        settleItemStates();
+        engine.indicatorFade.snapTo(1f);
+        indicatorProgress = 1f;
+        if (selectedIndex >= 0) {
+            updateIndicatorPosition(selectedIndex, false);
+        }
+    }
+
+
+    public void setItems(List<NavigationItem> items) {
+        this.items.clear();
+        this.items.addAll(items);
+        iconStates.clear();
+        labelLayouts.clear();
+        itemStore.truncate(0);
+        for (int i = 0; i < this.items.size(); i++) {
+            iconStates.add(createIconState(this.items.get(i)));
+            labelLayouts.add(new LabelLayout());
+        }
+        if (pendingRestoreIndex >= 0 && pendingRestoreIndex < this.items.size()) {
+            selectedIndex = pendingRestoreIndex;
+        }
+        pendingRestoreIndex = -1;
+        if (!this.items.isEmpty() && selectedIndex < 0) {
+            selectedIndex = 0;
+        }
+        markIconAtlasChanged();
+        updateItemRects();
+        invalidate();
+    }
+
+    /**
+     * 按 tag（没有 tag 时按标题）对比新旧列表，复用未变化项的图标、测量结果和动画状态，
+     * 只有新插入的导航项播放淡入动画，选中项跟随其 tag 保持不变
+     * 选中项被移除时改选位置最接近的一项，并按分发策略回调选中监听器
+     */
+    public void submitItems(List<NavigationItem> newItems) {
+        Map<Object, Integer> oldPositions = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            oldPositions.put(itemKey(items.get(i)), i);
+        }
+
+        NavigationItem selectedItem = selectedIndex >= 0 && selectedIndex < items.size()
+                ? items.get(selectedIndex) : null;
+        Object selectedKey = selectedItem != null ? itemKey(selectedItem) : null;
+
+        List<IconState> newIconStates = new ArrayList<>(newItems.size());
+        List<LabelLayout> newLabelLayouts = new ArrayList<>(newItems.size());
+        ItemStore newStore = spareItemStore;
+        newStore.truncate(0);
+        newStore.ensureCapacity(newItems.size());
+        int newSelectedIndex = -1;
+        boolean inserted = false;
+
+        for (int i = 0; i < newItems.size(); i++) {
+            NavigationItem item = newItems.get(i);
+            Object key = itemKey(item);
+            Integer oldIndex = oldPositions.remove(key);
+
+            if (oldIndex != null) {
+                NavigationItem oldItem = items.get(oldIndex);
+                IconState iconState = iconStates.get(oldIndex);
+                if (sameIcon(oldItem, iconState, item)) {
+                    iconState.loadFailed = false;
+                    newIconStates.add(iconState);
+                } else {
+                    newIconStates.add(createIconState(item));
+                }
+                newLabelLayouts.add(labelLayouts.get(oldIndex));
+                newStore.copyFrom(itemStore, oldIndex, newStore.append());
+            } else {
+                newIconStates.add(createIconState(item));
+                newLabelLayouts.add(new LabelLayout());
+                int slot = newStore.append();
+                BottomNavigationEngine.applySelection(newStore, slot);
+                newStore.appear[slot] = animationsEnabled() ? 0f : 1f;
+                inserted = true;
+            }
+
+            if (selectedKey != null && selectedKey.equals(key)) {
+                newSelectedIndex = i;
+            }
+        }
+
+        items.clear();
+        items.addAll(newItems);
+        iconStates = newIconStates;
+        labelLayouts = newLabelLayouts;
+        spareItemStore = itemStore;
+        itemStore = newStore;
+        previousSelectedIndex = -1;
+
+        boolean selectionRemoved = selectedKey != null && newSelectedIndex < 0;
+        if (newSelectedIndex < 0 && !items.isEmpty()) {
+            // 原选中项被移除时，选中位置最接近的一项
+            newSelectedIndex = Math.max(0, Math.min(selectedIndex, items.size() - 1));
+            itemStore.selection[newSelectedIndex] = 1f;
+            itemStore.selectionVelocity[newSelectedIndex] = 0f;
+            BottomNavigationEngine.applySelection(itemStore, newSelectedIndex);
+        }
+        selectedIndex = newSelectedIndex;
+        followPendingDispatch();
+
+        if (inserted) {
+            appearRunning = true;
+            scheduleAnimationFrame();
+        }
+        markIconAtlasChanged();
+        updateItemRects();
+        invalidate();
+
+        if (selectionRemoved && selectedIndex >= 0) {
+            notifyItemSelected(selectedIndex);
+        }
+    }
+
+    /**
+     * 列表变化后尚未分发的选中跟随选中项的新位置
+     */
+    private void followPendingDispatch() {
+        if (pendingDispatchIndex >= 0) {
+            pendingDispatchIndex = selectedIndex;
+        }
+    }
+
+    /**
+     * 替换单个导航项，只有图标或标题真正变化时才重新着色或测量
+     */
+    public void updateItem(int index, NavigationItem item) {
+        if (index < 0 || index >= items.size()) return;
+
+        NavigationItem oldItem = items.get(index);
+        items.set(index, item);
+        if (!sameIcon(oldItem, iconStates.get(index), item)) {
+            iconStates.set(index, createIconState(item));
+            markIconAtlasChanged();
+        }
+        if (index == selectedIndex && !TextUtils.equals(oldItem.title, item.title)) {
+            updateIndicatorPosition(index, animationsEnabled());
+        }
+
+        markItemChanged(index);
+        dirtyItem(index);
+        invalidateDirty();
+    }
+
+    /**
+     * 移除导航项，移除的是选中项时改选位置最接近的一项，并按分发策略回调选中监听器
+     */
+    public void removeItem(int index) {
+        if (index < 0 || index >= items.size()) return;
+
+        items.remove(index);
+        iconStates.remove(index);
+        labelLayouts.remove(index);
+        itemStore.remove(index);
+        previousSelectedIndex = -1;
+        markIconAtlasChanged();
+
+        boolean selectionRemoved = index == selectedIndex;
+        if (index < selectedIndex) {
+            selectedIndex--;
+        } else if (selectionRemoved) {
+            // 移除的是选中项时，选中位置最接近的一项
+            selectedIndex = Math.min(index, items.size() - 1);
+            if (selectedIndex >= 0) {
+                itemStore.selection[selectedIndex] = 1f;
+                itemStore.selectionVelocity[selectedIndex] = 0f;
+                BottomNavigationEngine.applySelection(itemStore, selectedIndex);
+            }
+        }
+        followPendingDispatch();
+
+        updateItemRects();
+        invalidate();
+
+        if (selectionRemoved && selectedIndex >= 0) {
+            notifyItemSelected(selectedIndex);
+        }
+    }
+
+    private static Object itemKey(NavigationItem item) {
+        if (item.tag != null) return item.tag;
+        return item.title != null ? item.title : item;
+    }
+
+    public void setSelectedColor(int color) {
+        if (this.selectedColor == color) return;
+        this.selectedColor = color;
+        ripplePaint.setColor(color);
+        if (rippleDrawable != null) {
+            rippleDrawable.setColor(ColorStateList.valueOf(getRippleColor()));
+        }
+        requestUpdate(UPDATE_TINT | UPDATE_ITEMS);
+    }
+
+    public void setUnselectedColor(int color) {
+        if (this.unselectedColor == color) return;
+        this.unselectedColor = color;
+        requestUpdate(UPDATE_TINT | UPDATE_ITEMS);
+    }
+
+    /**
+     * 颜色变化时重建选中和未选中的颜色滤镜，已缓存的图标在下次绘制时换用新滤镜
+     */
+    private void updateIconFilters() {
+        selectedIconFilter = new PorterDuffColorFilter(selectedColor, PorterDuff.Mode.SRC_IN);
+        unselectedIconFilter = new PorterDuffColorFilter(unselectedColor, PorterDuff.Mode.SRC_IN);
+    }
+
+    /**
+     * 图标在第一次绘制时才 mutate 和着色，滚动模式下从未进入可见区域的图标不做任何准备
+     */
+    private IconState createIconState(NavigationItem item) {
+        IconState iconState = new IconState();
+        iconState.source = item.icon;
+        // 在 mutate 之前记下来源，同一资源加载的图标共用 ConstantState
+        if (item.iconSource != null) {
+            iconState.key = item.iconSource.getKey();
+        } else if (item.icon != null) {
+            iconState.key = item.icon.getConstantState();
+        }
+        if (iconState.source == null && item.iconSource != null) {
+            iconState.source = BottomNavigationIconLoader.getCached(getContext(), item.iconSource, iconSizePx);
+        }
+        return iconState;
+    }
+
+    /**
+     * 在后台线程加载图标，完成后只刷新对应的导航项
+     */
+    private void requestIcon(IconSource source, IconState iconState) {
+        iconState.loading = true;
+        BottomNavigationIconLoader.load(getContext(), source, iconSizePx, drawable -> {
+            // 导航项可能已被移除或替换
+            iconState.loading = false;
+            iconState.loadFailed = drawable == null;
+            int index = iconStates.indexOf(iconState);
+            if (index < 0 || drawable == null) return;
+
+            iconState.source = drawable;
+            markItemChanged(index);
+            markIconAtlasChanged();
+            dirtyItem(index);
+            invalidateDirty();
+        });
+    }
+
+    /**
+     * 重新调用 getDrawable 得到的是新对象，但同一资源的图标共用 ConstantState，
+     * 按 createIconState 记下的 ConstantState 比较，不按对象比较
+     */
+    private static boolean sameIcon(NavigationItem oldItem, IconState oldState, NavigationItem item) {
+        if (oldItem.icon == item.icon && oldItem.iconSource == item.iconSource) return true;
+        if (oldItem.icon != null || item.icon != null) {
+            if (oldItem.icon == null || item.icon == null) return false;
+            Drawable.ConstantState constantState = item.icon.getConstantState();
+            return constantState != null && constantState == oldState.key;
+        }
+        if (oldItem.iconSource == null || item.iconSource == null) return false;
+        return oldItem.iconSource.getKey().equals(item.iconSource.getKey());
+    }
+
+    public void setIndicatorColor(int color) {
+        this.indicatorColor = color;
+        indicatorPaint.setColor(color);
+        markIndicatorChanged();
+        requestUpdate(UPDATE_DRAW);
+    }
+
+    public void setShowLabels(boolean show) {
+        if (this.showLabels == show) return;
+        this.showLabels = show;
+        requestUpdate(UPDATE_ITEMS | UPDATE_INDICATOR);
+    }
+
+    /**
+     * 设置标签字号（单位：dp）
+     */
+    public void setLabelTextSize(float sizeDp) {
+        float size = dpToPx(sizeDp);
+        if (textSize == size) return;
+        textSize = size;
+        textPaint.setTextSize(size);
+        updateEngineMetrics();
+        requestUpdate(UPDATE_LABELS);
+    }
+
+    /**
+     * 设置标签字体
+     */
+    public void setLabelTypeface(Typeface typeface) {
+        if (textPaint.getTypeface() == typeface) return;
+        textPaint.setTypeface(typeface);
+        requestUpdate(UPDATE_LABELS);
+    }
+
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        Locale locale = Locale.getDefault();
+        if (!locale.equals(labelLocale)) {
+            labelLocale = locale;
+            requestUpdate(UPDATE_LABELS);
+        }
+        // 先换用新密度对应的共享资源，再按新密度换算尺寸
+        updateSharedResources(isAttachedToWindow());
+        int densityDpi = getContext().getResources().getDisplayMetrics().densityDpi;
+        if (densityDpi != resolvedDensityDpi && resolvedDensityDpi > 0) {
+            onDensityChanged((float) densityDpi / resolvedDensityDpi);
+        }
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        SavedState state = new SavedState(super.onSaveInstanceState());
+        state.selectedIndex = selectedIndex;
+        state.scrollX = getScrollX();
+        state.densityDpi = resolvedDensityDpi;
+        return state;
+    }
+
+    /**
+     * 直接恢复到选中项的静止状态，不创建动画也不回调选中监听器
+     * 样式不保存：重建时已从 XML 和主题重新解析，切换深色模式后应使用新主题的颜色
+     */
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState saved = (SavedState) state;
+        super.onRestoreInstanceState(saved.getSuperState());
+
+        restoreSelection(saved.selectedIndex);
+
+        // 只有密度变化时才换算滚动位置
+        int scrollX = saved.densityDpi == resolvedDensityDpi || saved.densityDpi <= 0
+                ? saved.scrollX : Math.round(saved.scrollX * (float) resolvedDensityDpi / saved.densityDpi);
+        if (getWidth() > 0 && !items.isEmpty()) {
+            scrollTo(Math.min(scrollX, getMaxScrollX()), 0);
+        } else {
+            pendingRestoreScrollX = scrollX;
+        }
+        invalidate();
+    }
+
+    /**
+     * 导航项已设置时直接落到静止状态，否则等 setItems 时再使用
+     */
+    private void restoreSelection(int index) {
+        if (index < 0) return;
+        if (index >= items.size()) {
+            pendingRestoreIndex = index;
+            return;
+        }
+        if (index == selectedIndex) return;
+        previousSelectedIndex = selectedIndex;
+        selectedIndex = index;
+        rippleRunning = false;
+        updateSelectionStates();
+    }
+
+    /**
+     * 字号、字体或语言变化后，作废所有标签测量结果
+     */
+    private void onLabelStyleChanged() {
+        textPaint.getFontMetrics(labelFontMetrics);
+        for (int i = 0; i < labelLayouts.size(); i++) {
+            labelLayouts.get(i).width = -1f;
+        }
+    }
+
+    /**
+     * 标签宽度按需测量一次并缓存，标题对象变化时才重新测量
+     */
+    private float getLabelWidth(int index) {
+        NavigationItem item = items.get(index);
+        LabelLayout layout = labelLayouts.get(index);
+        if (layout.width < 0 || !TextUtils.equals(layout.text, item.title)) {
+            layout.text = item.title;
+            layout.width = item.title != null ? measureLabel(item.title) : 0f;
+        }
+        return layout.width;
+    }
+
+    /**
+     * 使用共享资源时先查其他实例已测量过的宽度
+     */
+    private float measureLabel(String title) {
+        if (sharedResources == null) {
+            return textPaint.measureText(title);
+        }
+        Float width = sharedResources.labelWidths.get(title);
+        if (width == null) {
+            width = textPaint.measureText(title);
+            sharedResources.labelWidths.put(title, width);
+        }
+        return width;
+    }
+
+    public void setAnimationDuration(long duration) {
+        this.animationDuration = duration;
+        updateEngineDuration();
+    }
+
+    /**
+     * 弹簧时长跟随系统动画时长缩放
+     */
+    private void updateEngineDuration() {
+        engine.setDuration((long) (animationDuration * durationScale));
+    }
+
+    /**
+     * 设置省电配置
+     * @param profile POWER_PROFILE_AUTO 跟随系统省电模式，POWER_PROFILE_FULL 始终播放动画，
+     *                POWER_PROFILE_SAVER 始终直接切换到选中状态
+     */
+    public void setPowerProfile(int profile) {
+        if (this.powerProfile == profile) return;
+        this.powerProfile = profile;
+        if (isAttachedToWindow()) {
+            unregisterPowerSaveReceiver();
+            registerPowerSaveReceiver();
+        }
+        if (!animationsEnabled()) {
+            finishAnimations();
+        }
+    }
+
+    /**
+     * 动画总开关、系统动画缩放和省电配置共同决定是否播放动画
+     */
+    private boolean animationsEnabled() {
+        if (!enableAnimation || durationScale <= 0f) return false;
+        if (powerProfile == POWER_PROFILE_SAVER) return false;
+        return powerProfile != POWER_PROFILE_AUTO || !systemPowerSave;
+    }
+
+    private void readDurationScale() {
+        float scale = Settings.Global.getFloat(getContext().getContentResolver(),
+                Settings.Global.ANIMATOR_DURATION_SCALE, 1f);
+        if (scale != durationScale) {
+            durationScale = scale;
+            updateEngineDuration();
+        }
+    }
+
+    private void registerPowerSaveReceiver() {
+        if (powerProfile != POWER_PROFILE_AUTO || powerSaveReceiver != null) return;
+        PowerManager powerManager = (PowerManager) getContext().getSystemService(Context.POWER_SERVICE);
+        if (powerManager == null) return;
+        systemPowerSave = powerManager.isPowerSaveMode();
+        powerSaveReceiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                systemPowerSave = powerManager.isPowerSaveMode();
+                if (!animationsEnabled()) {
+                    finishAnimations();
+                }
+            }
+        };
+        getContext().registerReceiver(powerSaveReceiver,
+                new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+    }
+
+    private void unregisterPowerSaveReceiver() {
+        if (powerSaveReceiver != null) {
+            getContext().unregisterReceiver(powerSaveReceiver);
+            powerSaveReceiver = null;
+        }
+        systemPowerSave = false;
+    }
+
+    /**
+     * 关闭动画时进行中的动画直接跳到终点
+     */
+    public void setEnableAnimation(boolean enable) {
+        this.enableAnimation = enable;
+        if (!enable) {
+            finishAnimations();
+        }
+    }
+
+    /**
+     * 设置指示器是否包裹文字
+     * @param wrapText false: 只包裹图标, true: 包裹图标和文字
+     */
+    public void setIndicatorWrapText(boolean wrapText) {
+        if (engine.indicatorWrapText != wrapText) {
+            engine.indicatorWrapText = wrapText;
+            requestUpdate(UPDATE_INDICATOR_ANIMATED);
+        }
+    }
+
+    /**
+     * 设置指示器圆角半径
+     */
+    public void setIndicatorCornerRadius(float radiusDp) {
+        this.indicatorCornerRadius = dpToPx(radiusDp);
+        markIndicatorChanged();
+        requestUpdate(UPDATE_DRAW);
+    }
+
+    /**
+     * 设置指示器内边距
+     */
+    public void setIndicatorPadding(float horizontalDp, float verticalDp) {
+        engine.indicatorPaddingHorizontal = dpToPx(horizontalDp);
+        engine.indicatorPaddingVertical = dpToPx(verticalDp);
+        requestUpdate(UPDATE_INDICATOR);
+    }
+
+    /**
+     * 设置是否启用滚动模式，导航项过多时按最小宽度排列并支持横向滑动
+     */
+    public void setScrollable(boolean scrollable) {
+        if (this.scrollable == scrollable) return;
+        this.scrollable = scrollable;
+        if (!scrollable) {
+            scroller.abortAnimation();
+            scrollTo(0, 0);
+        }
+        requestUpdate(UPDATE_LAYOUT);
+    }
+
+    /**
+     * 设置滚动模式下导航项的最小宽度
+     */
+    public void setMinItemWidth(float dp) {
+        this.minItemWidthPx = dpToPx(dp);
+        if (scrollable) {
+            requestUpdate(UPDATE_LAYOUT);
+        }
+    }
+
+    /**
+     * 启用后图标按两种着色栅格化到一张位图中，动画期间从位图缩放绘制，
+     * 动画结束后恢复按实际尺寸绘制原始图标
+     */
+    public void setIconAtlasEnabled(boolean enable) {
+        if ((iconAtlas != null) == enable) return;
+        iconAtlas = enable ? new IconAtlas() : null;
+        markIconAtlasChanged();
+        requestUpdate(UPDATE_ITEMS);
+    }
+
+    /**
+     * 启用后与密度和样式相同的其他实例共用尺寸、标签宽度和着色图集，
+     * 附加到窗口时借用，分离时归还，没有实例使用的资源会被移除
+     */
+    public void setSharedResourcesEnabled(boolean enable) {
+        if (this.sharedResourcesEnabled == enable) return;
+        this.sharedResourcesEnabled = enable;
+        updateSharedResources(isAttachedToWindow());
+    }
+
+    /**
+     * 按当前密度和样式重新借用共享资源，先借后还，样式未变时不会移除正在使用的资源
+     * onDetachedFromWindow 期间 isAttachedToWindow 仍返回 true，由调用方传入是否附加
+     */
+    private void updateSharedResources(boolean attached) {
+        BottomNavigationResourcePool.Entry entry = null;
+        if (sharedResourcesEnabled && attached) {
+            entry = BottomNavigationResourcePool.acquire(getContext().getResources().getDisplayMetrics(),
+                    selectedColor, unselectedColor, textSize, textPaint.getTypeface(), labelLocale);
+        }
+        if (sharedResources != null) {
+            BottomNavigationResourcePool.release(sharedResources);
+        }
+        if (entry != sharedResources) {
+            sharedResources = entry;
+            markIconAtlasChanged();
+        }
+    }
+
+    /**
+     * 启用后水波纹使用 RippleDrawable，指示器切换为原地展开、收起的揭示动画，
+     * 硬件加速时两者都由 RenderThread 驱动，主线程卡顿时不会停顿
+     * 指示器不再在两项之间滑动；拖动进度（setSelectionProgress）仍由主线程逐帧更新
+     */
+    public void setRenderThreadAnimations(boolean enable) {
+        if (this.renderThreadAnimations == enable) return;
+        this.renderThreadAnimations = enable;
+        if (!enable && rippleDrawable != null) {
+            rippleDrawable.setCallback(null);
+            rippleDrawable = null;
+        }
+        if (enable) {
+            revealIndicator = new BottomNavigationRevealIndicator(getContext(), decelerateInterpolator);
+            revealIndicator.setStyle(indicatorColor, indicatorCornerRadius);
+            revealIndicator.attach(this);
+        } else if (revealIndicator != null) {
+            revealIndicator.detach(this);
+            revealIndicator = null;
+        }
+        requestUpdate(UPDATE_INDICATOR);
+    }
+
+    /**
+     * 开始批量更新，之后的样式设置只记录变化，直到最外层的 endUpdate 才统一重算和刷新一次
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * 结束批量更新，统一重算着色、标签测量、布局和指示器，只刷新一次，批量中的变化不播放动画
+     */
+    public void endUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("endUpdate() called without beginUpdate()");
+        }
+        if (--updateDepth == 0 && pendingUpdates != 0) {
+            applyPendingUpdates(false);
+        }
+    }
+
+    /**
+     * 在一次批量更新中执行多个样式设置，例如切换主题时
+     */
+    public void edit(Runnable block) {
+        beginUpdate();
+        try {
+            block.run();
+        } finally {
+            endUpdate();
+        }
+    }
+
+    private void requestUpdate(int flags) {
+        pendingUpdates |= flags;
+        if (updateDepth == 0) {
+            applyPendingUpdates(true);
+        }
+    }
+
+    private void applyPendingUpdates(boolean animate) {
+        int flags = pendingUpdates;
+        pendingUpdates = 0;
+
+        if ((flags & (UPDATE_TINT | UPDATE_LABELS)) != 0) {
+            // 颜色、字号或字体变化后改用对应样式的共享资源
+            updateSharedResources(isAttachedToWindow());
+        }
+        if ((flags & UPDATE_TINT) != 0) {
+            updateIconFilters();
+            markIconAtlasChanged();
+        }
+        if ((flags & UPDATE_LABELS) != 0) {
+            onLabelStyleChanged();
+            flags |= UPDATE_INDICATOR | UPDATE_ITEMS;
+        }
+        if ((flags & UPDATE_LAYOUT) != 0) {
+            // 重新布局时会一并更新指示器和所有导航项
+            updateItemRects();
+            ensureItemVisible(selectedIndex, false);
+        } else {
+            if ((flags & (UPDATE_INDICATOR | UPDATE_INDICATOR_ANIMATED)) != 0 && selectedIndex >= 0) {
+                boolean animated = animate && animationsEnabled() && (flags & UPDATE_INDICATOR_ANIMATED) != 0;
+                updateIndicatorPosition(selectedIndex, animated || indicatorRunning);
+            }
+            if ((flags & UPDATE_ITEMS) != 0) {
+                markAllItemsChanged();
+            }
+        }
+        invalidate();
+    }
+
+    private void markIndicatorChanged() {
+        if (revealIndicator != null) {
+            revealIndicator.setStyle(indicatorColor, indicatorCornerRadius);
+        }
+    }
+
+    /**
+     * 设置选中动画的帧统计监听器，每次选中动画结束时回调一次，传入 null 关闭统计
+     */
+    public void setOnAnimationMetricsListener(OnAnimationMetricsListener listener) {
+        this.metricsListener = listener;
+        if (listener == null) {
+            metricsCollecting = false;
+        }
+    }
+
+    /**
+     * 启用后绘制和指示器计算会写入 android.os.Trace 区段，关闭时没有额外开销
+     */
+    public void setTraceEnabled(boolean enabled) {
+        this.traceEnabled = enabled;
+    }
+
+    public void setOnItemSelectedListener(OnItemSelectedListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 重复点击已选中项时回调，不会触发任何动画
+     */
+    public void setOnItemReselectedListener(OnItemReselectedListener listener) {
+        this.reselectedListener = listener;
+    }
+
+    /**
+     * 设置选中回调的分发时机
+     * @param policy DISPATCH_IMMEDIATE 在选中时同步回调，DISPATCH_NEXT_FRAME 在第一帧动画绘制之后回调，
+     *               DISPATCH_AFTER_ANIMATION 在选中动画结束后回调
+     */
+    public void setListenerDispatchPolicy(int policy) {
+        if (this.dispatchPolicy == policy) return;
+        this.dispatchPolicy = policy;
+        // 尚未分发的选中按新策略重新安排，切换策略不会丢失回调
+        if (pendingDispatchIndex >= 0) {
+            if (dispatchPosted) {
+                getChoreographer().removeFrameCallback(dispatchFrameCallback);
+                removeCallbacks(dispatchRunnable);
+                dispatchPosted = false;
+            }
+            notifyItemSelected(pendingDispatchIndex);
+        }
+    }
+
+    public int getSelectedIndex() {
+        return selectedIndex;
+    }
+
+    private int dpToPx(int dp) {
+        return dpToPx((float) dp);
+    }
+
+    private int dpToPx(float dp) {
+        return (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP, dp,
+                getContext().getResources().getDisplayMetrics()
+        );
+    }
+
+    private float spToPx(float sp) {
+        return TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, sp,
+                getContext().getResources().getDisplayMetrics()
+        );
+    }
+
+    /**
+     * 只保存选中项、滚动位置和保存时的屏幕密度
+     */
+    static class SavedState extends BaseSavedState {
+        int selectedIndex;
+        int scrollX;
+        int densityDpi;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            selectedIndex = in.readInt();
+            scrollX = in.readInt();
+            densityDpi = in.readInt();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(selectedIndex);
+            out.writeInt(scrollX);
+            out.writeInt(densityDpi);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    private static class LabelLayout {
+        String text;
+        float width = -1f;
+    }
+
+    /**
+     * 缓存图标上一次下发的状态，只在选中状态、颜色滤镜、透明度或边界真正变化时才调用 Drawable
+     */
+    private static class IconState {
+        Drawable source;
+        // 共享图集中识别图标的来源，未知时为 null
+        Object key;
+        Drawable drawable;
+        boolean loading;
+        boolean loadFailed;
+        boolean selected;
+        ColorFilter filter;
+        int alpha = -1;
+        int left;
+        int top;
+        int size = -1;
+
+        void prepare() {
+            drawable = source.mutate();
+            drawable.setState(STATE_UNSELECTED);
+        }
+
+        /**
+         * 以不透明状态把选中和未选中两种着色上下绘制到图集
+         * 绘制的是图标的独立副本，屏幕上的 drawable 不受影响
+         * @return 图标无法复制、改写了屏幕上的 drawable 时返回 true
+         */
+        boolean rasterize(Canvas canvas, Resources res, int left, int top, int size,
+                          ColorFilter selectedFilter, ColorFilter unselectedFilter) {
+            Drawable.ConstantState constantState = drawable.getConstantState();
+            if (constantState != null) {
+                Drawable copy = constantState.newDrawable(res).mutate();
+                drawCell(copy, canvas, left, top, size, STATE_SELECTED, selectedFilter);
+                drawCell(copy, canvas, left, top + size, size, STATE_UNSELECTED, unselectedFilter);
+                return false;
+            }
+            drawCell(drawable, canvas, left, top, size, STATE_SELECTED, selectedFilter);
+            drawCell(drawable, canvas, left, top + size, size, STATE_UNSELECTED, unselectedFilter);
+            // 同步缓存的状态，下次 apply 时会重新下发
+            this.selected = false;
+            this.filter = unselectedFilter;
+            this.alpha = 255;
+            this.left = left;
+            this.top = top + size;
+            this.size = size;
+            return true;
+        }
+
+        private static void drawCell(Drawable drawable, Canvas canvas, int left, int top, int size,
+                                     int[] state, ColorFilter filter) {
+            drawable.setState(state);
+            drawable.setColorFilter(filter);
+            drawable.setAlpha(255);
+            drawable.setBounds(left, top, left + size, top + size);
+            drawable.draw(canvas);
+        }
+
+        void apply(boolean selected, ColorFilter filter, int alpha, int left, int top, int size) {
+            if (this.selected != selected) {
+                this.selected = selected;
+                drawable.setState(selected ? STATE_SELECTED : STATE_UNSELECTED);
+            }
+            if (this.filter != filter) {
+                this.filter = filter;
+                drawable.setColorFilter(filter);
+            }
+            if (this.alpha != alpha) {
+                this.alpha = alpha;
+                drawable.setAlpha(alpha);
+            }
+            if (this.left != left || this.top != top || this.size != size) {
+                this.left = left;
+                this.top = top;
+                this.size = size;
+                drawable.setBounds(left, top, left + size, top + size);
+            }
+        }
+    }
+
+    /**
+     * 图标来源，在后台线程加载，加载完成前绘制占位图
+     */
+    public interface IconSource {
+        /**
+         * 缓存键，键和尺寸相同的图标在所有导航栏之间共享
+         */
+        Object getKey();
+
+        /**
+         * 在后台线程调用
+         */
+        Drawable load(Context context, int sizePx);
+
+        static IconSource ofResource(int resId) {
+            return new BottomNavigationIconLoader.ResourceSource(resId);
+        }
+
+        static IconSource ofUri(Uri uri) {
+            return new BottomNavigationIconLoader.UriSource(uri);
+        }
+
+        static IconSource ofSupplier(Object key, Supplier<Drawable> supplier) {
+            return new BottomNavigationIconLoader.SupplierSource(key, supplier);
+        }
+    }
+
+    private static class IconAtlas {
+        Bitmap bitmap;
+        Canvas canvas;
+        int cellSize;
+        boolean[] ready = new boolean[0];
+        boolean dirty = true;
+        // 位图来自共享资源池，只读
+        boolean shared;
+        final Rect src = new Rect();
+        final RectF dst = new RectF();
+    }
+
+    public static class NavigationItem {
+        public String title;
+        public Drawable icon;
+        public IconSource iconSource;
+        public Object tag;
+
+        public NavigationItem(String title, Drawable icon) {
+            this.title = title;
+            this.icon = icon;
+        }
+
+        public NavigationItem(String title, Drawable icon, Object tag) {
+            this.title = title;
+            this.icon = icon;
+            this.tag = tag;
+        }
+
+        public NavigationItem(String title, IconSource iconSource) {
+            this.title = title;
+            this.iconSource = iconSource;
+        }
+
+        public NavigationItem(String title, IconSource iconSource, Object tag) {
+            this.title = title;
+            this.iconSource = iconSource;
+            this.tag = tag;
+        }
+    }
+
+    public interface OnItemSelectedListener {
+        void onItemSelected(int index, NavigationItem item);
+    }
+
+    public interface OnItemReselectedListener {
+        void onItemReselected(int index, NavigationItem item);
+    }
+
+    /**
+     * 一次选中动画的帧统计，对象会被复用，只在回调期间有效
+     */
+    public static final class AnimationMetrics {
+        // 动画期间执行的帧数
+        public int framesRendered;
+        // 帧间隔超过 1.5 倍帧预算的帧数
+        public int framesOverBudget;
+        // 最长的帧间隔
+        public long worstFrameNanos;
+        // 从 ACTION_UP 到第一帧动画的时间，代码触发的选中为 -1
+        public long inputToFirstFrameNanos;
+        // OnItemSelectedListener.onItemSelected 的耗时
+        public long listenerNanos;
+        // 按屏幕刷新率计算的单帧预算
+        public long frameBudgetNanos;
+
+        void reset() {
+            framesRendered = 0;
+            framesOverBudget = 0;
+            worstFrameNanos = 0;
+            inputToFirstFrameNanos = -1;
+            listenerNanos = 0;
+            frameBudgetNanos = 0;
+        }
+    }
+
+    public interface OnAnimationMetricsListener {
+        void onAnimationMetrics(AnimationMetrics metrics);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,488 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import java.util.Arrays;
+
+/**
+ * BottomNavigation 的布局和动画计算核心，只使用基本类型，不依赖任何 Android 类
+ * 负责导航项边界、指示器几何信息和每一项的弹簧推进，可以脱离设备单独测试和做基准测试
+ */
+final class BottomNavigationEngine {
+
+    interface ItemChangeListener {
+        /**
+         * 某一项的动画值在本次计算中发生了变化
+         */
+        void onItemChanged(int index);
+    }
+
+    // 选中动画使用弹簧物理，新的目标以当前位置和速度为起点，不会叠加动画
+    final Spring selectionSpring = new Spring(0.55f, 0.002f, 0.02f);
+    final Spring indicatorSpring = new Spring(1f, 0.5f, 5f);
+    final Spring fadeSpring = new Spring(1f, 0.002f, 0.02f);
+
+    final SpringValue indicatorCenterX = new SpringValue();
+    final SpringValue indicatorCenterY = new SpringValue();
+    final SpringValue indicatorWidth = new SpringValue();
+    final SpringValue indicatorHeight = new SpringValue();
+    final SpringValue indicatorFade = new SpringValue();
+
+    // 指示器和图标布局参数，单位均为像素
+    float iconSize;
+    float iconTextGap;
+    float labelHeight;
+    float minIndicatorContentWidth;
+    float indicatorTextExtra;
+    float indicatorPaddingHorizontal;
+    float indicatorPaddingVertical;
+    boolean indicatorWrapText = true;
+
+    /**
+     * 按大致的稳定时长设置所有弹簧
+     */
+    void setDuration(long durationMs) {
+        selectionSpring.setDuration(durationMs + 100);
+        indicatorSpring.setDuration(durationMs);
+        fadeSpring.setDuration(durationMs);
+    }
+
+    /**
+     * 等宽排列导航项，minItemWidth 大于 0 时每项不小于该宽度（滚动模式）
+     * @return 单个导航项的宽度
+     */
+    int layoutItems(ItemStore store, int width, int minItemWidth) {
+        int count = store.size;
+        if (count == 0) return 0;
+
+        int itemWidth = Math.max(width / count, minItemWidth);
+        int[] left = store.left;
+        int[] right = store.right;
+        for (int i = 0; i < count; i++) {
+            left[i] = i * itemWidth;
+            right[i] = (i + 1) * itemWidth;
+        }
+        return itemWidth;
+    }
+
+    /**
+     * 计算指示器停在某一项时的几何信息
+     * @param hasLabel 该项是否显示标签
+     * @param labelWidth 标签宽度，不显示标签时忽略
+     * @param out 依次写入中心 X、中心 Y、宽度、高度
+     * @return 索引无效时返回 false
+     */
+    boolean computeIndicatorGeometry(ItemStore store, int itemHeight, int index,
+                                     boolean hasLabel, float labelWidth, float[] out) {
+        if (index < 0 || index >= store.size) return false;
+
+        int itemCenterX = (store.left[index] + store.right[index]) >> 1;
+        int itemCenterY = itemHeight >> 1;
+
+        float contentHeight = iconSize;
+        float contentWidth = minIndicatorContentWidth;
+
+        // 根据 indicatorWrapText 设置决定指示器尺寸
+        boolean wrapLabel = indicatorWrapText && hasLabel;
+        if (wrapLabel) {
+            // 包裹图标和文字
+            contentHeight += iconTextGap + labelHeight;
+            contentWidth = Math.max(contentWidth, labelWidth + indicatorTextExtra);
+        }
+
+        float targetY;
+        if (wrapLabel || !hasLabel) {
+            targetY = itemCenterY;
+        } else {
+            // 只包裹图标时，指示器位置应该围绕图标中心
+            float totalHeight = iconSize + iconTextGap + labelHeight;
+            targetY = itemCenterY - totalHeight / 2 + iconSize / 2;
+        }
+
+        out[0] = itemCenterX;
+        out[1] = targetY;
+        out[2] = contentWidth + indicatorPaddingHorizontal * 2;
+        out[3] = contentHeight + indicatorPaddingVertical * 2;
+        return true;
+    }
+
+    /**
+     * 保留指示器当前位置和速度，只修改目标
+     */
+    void retargetIndicator(float[] geometry) {
+        indicatorCenterX.target = geometry[0];
+        indicatorCenterY.target = geometry[1];
+        indicatorWidth.target = geometry[2];
+        indicatorHeight.target = geometry[3];
+    }
+
+    void snapIndicator(float[] geometry) {
+        indicatorCenterX.snapTo(geometry[0]);
+        indicatorCenterY.snapTo(geometry[1]);
+        indicatorWidth.snapTo(geometry[2]);
+        indicatorHeight.snapTo(geometry[3]);
+    }
+
+    /**
+     * 指示器按手势进度停在两项之间
+     */
+    void interpolateIndicator(float[] from, float[] to, float fraction) {
+        indicatorCenterX.snapTo(from[0] + (to[0] - from[0]) * fraction);
+        indicatorCenterY.snapTo(from[1] + (to[1] - from[1]) * fraction);
+        indicatorWidth.snapTo(from[2] + (to[2] - from[2]) * fraction);
+        indicatorHeight.snapTo(from[3] + (to[3] - from[3]) * fraction);
+        indicatorFade.snapTo(1f);
+    }
+
+    /**
+     * 推进指示器的位置、尺寸和透明度
+     * @return 是否仍在运动
+     */
+    boolean stepIndicator(float dt) {
+        boolean moving = indicatorCenterX.step(indicatorSpring, dt);
+        moving |= indicatorCenterY.step(indicatorSpring, dt);
+        moving |= indicatorWidth.step(indicatorSpring, dt);
+        moving |= indicatorHeight.step(indicatorSpring, dt);
+        moving |= indicatorFade.step(fadeSpring, dt);
+        return moving;
+    }
+
+    /**
+     * 推进每个导航项的选中弹簧，已静止的导航项直接跳过
+     */
+    boolean stepSelection(ItemStore store, int selectedIndex, float dt, ItemChangeListener listener) {
+        boolean moving = false;
+        float[] selection = store.selection;
+        float[] velocity = store.selectionVelocity;
+        for (int i = 0; i < store.size; i++) {
+            float target = i == selectedIndex ? 1f : 0f;
+            if (selection[i] == target && velocity[i] == 0f) continue;
+
+            moving |= selectionSpring.step(selection[i], velocity[i], target, dt);
+            selection[i] = selectionSpring.outValue;
+            velocity[i] = selectionSpring.outVelocity;
+            applySelection(store, i);
+            listener.onItemChanged(i);
+        }
+        return moving;
+    }
+
+    /**
+     * 推进新插入导航项的淡入
+     */
+    boolean stepAppear(ItemStore store, float dt, ItemChangeListener listener) {
+        boolean moving = false;
+        float[] appear = store.appear;
+        float[] velocity = store.appearVelocity;
+        for (int i = 0; i < store.size; i++) {
+            if (appear[i] == 1f && velocity[i] == 0f) continue;
+
+            moving |= fadeSpring.step(appear[i], velocity[i], 1f, dt);
+            appear[i] = Math.min(1f, fadeSpring.outValue);
+            velocity[i] = fadeSpring.outVelocity;
+            listener.onItemChanged(i);
+        }
+        return moving;
+    }
+
+    /**
+     * 由手势进度直接设定两项之间的选中程度，其余项回到未选中状态
+     */
+    void applySelectionProgress(ItemStore store, int fromIndex, int toIndex, float fraction,
+                                ItemChangeListener listener) {
+        for (int i = 0; i < store.size; i++) {
+            float selection;
+            if (i == toIndex) {
+                selection = fromIndex == toIndex ? 1f : fraction;
+            } else if (i == fromIndex) {
+                selection = 1f - fraction;
+            } else {
+                selection = 0f;
+            }
+
+            if (store.selection[i] == selection && store.selectionVelocity[i] == 0f) continue;
+            store.selection[i] = selection;
+            store.selectionVelocity[i] = 0f;
+            applySelection(store, i);
+            listener.onItemChanged(i);
+        }
+    }
+
+    /**
+     * 由选中程度推导出绘制用到的各项动画值，弹簧的过冲形成图标的回弹效果
+     */
+    static void applySelection(ItemStore store, int index) {
+        float selection = store.selection[index];
+        float clamped = Math.min(1f, Math.max(0f, selection));
+
+        store.iconScale[index] = 0.9f + 0.1f * selection;
+        store.alpha[index] = clamped;
+        store.translateY[index] = -0.5f * clamped;
+
+        float labelAlpha;
+        if (clamped <= 0.2f) {
+            labelAlpha = 0f;
+        } else if (clamped >= 0.95f) {
+            labelAlpha = 1.0f;
+        } else {
+            labelAlpha = easeOutCubic((clamped - 0.2f) / 0.75f);
+        }
+        store.labelAlpha[index] = labelAlpha;
+        store.labelScale[index] = 0.7f + 0.3f * labelAlpha;
+
+        if (clamped <= 0.15f) {
+            store.iconPositionProgress[index] = 0f;
+        } else {
+            store.iconPositionProgress[index] = easeOutQuad((clamped - 0.15f) / 0.85f);
+        }
+    }
+
+    /**
+     * 1 - (1 - t)^3，展开成乘法避免每帧调用 Math.pow
+     */
+    static float easeOutCubic(float t) {
+        float inv = 1f - t;
+        return 1f - inv * inv * inv;
+    }
+
+    /**
+     * 1 - (1 - t)^2
+     */
+    static float easeOutQuad(float t) {
+        float inv = 1f - t;
+        return 1f - inv * inv;
+    }
+
+    /**
+     * 阻尼弹簧，按解析解推进任意时长，不受帧间隔抖动影响
+     */
+    static final class Spring {
+        final float dampingRatio;
+        final float restDisplacement;
+        final float restVelocity;
+        double naturalFrequency;
+
+        // step() 的输出，避免每帧分配
+        float outValue;
+        float outVelocity;
+
+        Spring(float dampingRatio, float restDisplacement, float restVelocity) {
+            this.dampingRatio = dampingRatio;
+            this.restDisplacement = restDisplacement;
+            this.restVelocity = restVelocity;
+        }
+
+        /**
+         * 按大致的稳定时长换算固有频率，时长为 0 时直接跳到目标
+         */
+        void setDuration(long durationMs) {
+            naturalFrequency = durationMs <= 0 ? 0 : 6.0 / (dampingRatio * (durationMs / 1000.0));
+        }
+
+        /**
+         * 推进 dt 秒，结果写入 outValue/outVelocity，返回是否仍在运动
+         */
+        boolean step(float value, float velocity, float target, float dt) {
+            double displacement = value - target;
+            if (naturalFrequency <= 0) {
+                outValue = target;
+                outVelocity = 0f;
+                return false;
+            }
+
+            double w0 = naturalFrequency;
+            double decay = Math.exp(-dampingRatio * w0 * dt);
+            double x;
+            double v;
+            if (dampingRatio < 1f) {
+                double a = dampingRatio * w0;
+                double wd = w0 * Math.sqrt(1.0 - dampingRatio * dampingRatio);
+                double b = (velocity + a * displacement) / wd;
+                double cos = Math.cos(wd * dt);
+                double sin = Math.sin(wd * dt);
+                x = decay * (displacement * cos + b * sin);
+                v = decay * (velocity * cos - (displacement * wd + a * b) * sin);
+            } else {
+                double c = velocity + w0 * displacement;
+                x = decay * (displacement + c * dt);
+                v = decay * (velocity - w0 * c * dt);
+            }
+
+            if (Math.abs(x) < restDisplacement && Math.abs(v) < restVelocity) {
+                outValue = target;
+                outVelocity = 0f;
+                return false;
+            }
+            outValue = (float) (target + x);
+            outVelocity = (float) v;
+            return true;
+        }
+    }
+
+    static final class SpringValue {
+        float value;
+        float velocity;
+        float target;
+
+        void snapTo(float value) {
+            this.value = value;
+            this.target = value;
+            this.velocity = 0f;
+        }
+
+        boolean step(Spring spring, float dt) {
+            if (value == target && velocity == 0f) return false;
+            boolean moving = spring.step(value, velocity, target, dt);
+            value = spring.outValue;
+            velocity = spring.outVelocity;
+            return moving;
+        }
+    }
+
+    /**
+     * 导航项的边界和动画状态，按索引存放在并行的基本类型数组中，
+     * 容量按倍数增长，增删导航项时不会为每一项创建对象
+     */
+    static final class ItemStore {
+        int size;
+
+        int[] left;
+        int[] right;
+
+        float[] iconScale;
+        float[] alpha;
+        float[] translateY;
+        float[] labelAlpha;
+        float[] labelScale;
+        float[] iconPositionProgress;
+
+        // 选中程度（0 未选中，1 选中）及其速度，由弹簧推进
+        float[] selection;
+        float[] selectionVelocity;
+
+        // 插入动画进度，1 表示完全显示
+        float[] appear;
+        float[] appearVelocity;
+
+        // 徽标数量及已生成文字对应的数量，两者不同表示文字和宽度需要重新计算
+        int[] badgeCount;
+        int[] badgeShownCount;
+        String[] badgeText;
+        float[] badgeTextWidth;
+
+        ItemStore(int capacity) {
+            left = new int[capacity];
+            right = new int[capacity];
+            iconScale = new float[capacity];
+            alpha = new float[capacity];
+            translateY = new float[capacity];
+            labelAlpha = new float[capacity];
+            labelScale = new float[capacity];
+            iconPositionProgress = new float[capacity];
+            selection = new float[capacity];
+            selectionVelocity = new float[capacity];
+            appear = new float[capacity];
+            appearVelocity = new float[capacity];
+            badgeCount = new int[capacity];
+            badgeShownCount = new int[capacity];
+            badgeText = new String[capacity];
+            badgeTextWidth = new float[capacity];
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity <= left.length) return;
+            int newCapacity = Math.max(capacity, left.length * 2);
+            left = Arrays.copyOf(left, newCapacity);
+            right = Arrays.copyOf(right, newCapacity);
+            iconScale = Arrays.copyOf(iconScale, newCapacity);
+            alpha = Arrays.copyOf(alpha, newCapacity);
+            translateY = Arrays.copyOf(translateY, newCapacity);
+            labelAlpha = Arrays.copyOf(labelAlpha, newCapacity);
+            labelScale = Arrays.copyOf(labelScale, newCapacity);
+            iconPositionProgress = Arrays.copyOf(iconPositionProgress, newCapacity);
+            selection = Arrays.copyOf(selection, newCapacity);
+            selectionVelocity = Arrays.copyOf(selectionVelocity, newCapacity);
+            appear = Arrays.copyOf(appear, newCapacity);
+            appearVelocity = Arrays.copyOf(appearVelocity, newCapacity);
+            badgeCount = Arrays.copyOf(badgeCount, newCapacity);
+            badgeShownCount = Arrays.copyOf(badgeShownCount, newCapacity);
+            badgeText = Arrays.copyOf(badgeText, newCapacity);
+            badgeTextWidth = Arrays.copyOf(badgeTextWidth, newCapacity);
+        }
+
+        /**
+         * 在末尾追加一个默认状态的槽位，返回其索引
+         */
+        int append() {
+            ensureCapacity(size + 1);
+            reset(size);
+            return size++;
+        }
+
+        void truncate(int newSize) {
+            if (newSize < size) {
+                size = newSize;
+            }
+        }
+
+        void remove(int index) {
+            int moved = size - index - 1;
+            if (moved > 0) {
+                System.arraycopy(left, index + 1, left, index, moved);
+                System.arraycopy(right, index + 1, right, index, moved);
+                System.arraycopy(iconScale, index + 1, iconScale, index, moved);
+                System.arraycopy(alpha, index + 1, alpha, index, moved);
+                System.arraycopy(translateY, index + 1, translateY, index, moved);
+                System.arraycopy(labelAlpha, index + 1, labelAlpha, index, moved);
+                System.arraycopy(labelScale, index + 1, labelScale, index, moved);
+                System.arraycopy(iconPositionProgress, index + 1, iconPositionProgress, index, moved);
+                System.arraycopy(selection, index + 1, selection, index, moved);
+                System.arraycopy(selectionVelocity, index + 1, selectionVelocity, index, moved);
+                System.arraycopy(appear, index + 1, appear, index, moved);
+                System.arraycopy(appearVelocity, index + 1, appearVelocity, index, moved);
+                System.arraycopy(badgeCount, index + 1, badgeCount, index, moved);
+                System.arraycopy(badgeShownCount, index + 1, badgeShownCount, index, moved);
+                System.arraycopy(badgeText, index + 1, badgeText, index, moved);
+                System.arraycopy(badgeTextWidth, index + 1, badgeTextWidth, index, moved);
+            }
+            badgeText[size - 1] = null;
+            size--;
+        }
+
+        void copyFrom(ItemStore from, int fromIndex, int toIndex) {
+            left[toIndex] = from.left[fromIndex];
+            right[toIndex] = from.right[fromIndex];
+            iconScale[toIndex] = from.iconScale[fromIndex];
+            alpha[toIndex] = from.alpha[fromIndex];
+            translateY[toIndex] = from.translateY[fromIndex];
+            labelAlpha[toIndex] = from.labelAlpha[fromIndex];
+            labelScale[toIndex] = from.labelScale[fromIndex];
+            iconPositionProgress[toIndex] = from.iconPositionProgress[fromIndex];
+            selection[toIndex] = from.selection[fromIndex];
+            selectionVelocity[toIndex] = from.selectionVelocity[fromIndex];
+            appear[toIndex] = from.appear[fromIndex];
+            appearVelocity[toIndex] = from.appearVelocity[fromIndex];
+            badgeCount[toIndex] = from.badgeCount[fromIndex];
+            badgeShownCount[toIndex] = from.badgeShownCount[fromIndex];
+            badgeText[toIndex] = from.badgeText[fromIndex];
+            badgeTextWidth[toIndex] = from.badgeTextWidth[fromIndex];
+        }
+
+        private void reset(int index) {
+            left[index] = 0;
+            right[index] = 0;
+            iconScale[index] = 0.9f;
+            alpha[index] = 0f;
+            translateY[index] = 0f;
+            labelAlpha[index] = 0f;
+            labelScale[index] = 0.7f;
+            iconPositionProgress[index] = 0f;
+            selection[index] = 0f;
+            selectionVelocity[index] = 0f;
+            appear[index] = 1f;
+            appearVelocity[index] = 0f;
+            badgeCount[index] = 0;
+            badgeShownCount[index] = 0;
+            badgeText[index] = null;
+            badgeTextWidth[index] = 0f;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.LruCache;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 在后台线程加载 BottomNavigation 的图标，结果回到主线程
+ * 解码后的图标按来源和尺寸缓存 ConstantState，重建的导航栏直接复用
+ */
+final class BottomNavigationIconLoader {
+
+    private static final int CACHE_SIZE = 64;
+
+    private static final LruCache<CacheKey, Drawable.ConstantState> cache = new LruCache<>(CACHE_SIZE);
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "BottomNavigation-icon");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    interface Callback {
+        /**
+         * 在主线程回调，加载失败时 drawable 为 null
+         */
+        void onIconLoaded(Drawable drawable);
+    }
+
+    private BottomNavigationIconLoader() {
+    }
+
+    /**
+     * 命中缓存时直接返回新的 Drawable 实例，否则返回 null
+     */
+    static Drawable getCached(Context context, BottomNavigation.IconSource source, int sizePx) {
+        Drawable.ConstantState state = cache.get(new CacheKey(source.getKey(), sizePx));
+        return state != null ? state.newDrawable(context.getResources()) : null;
+    }
+
+    static void load(Context context, BottomNavigation.IconSource source, int sizePx, Callback callback) {
+        CacheKey key = new CacheKey(source.getKey(), sizePx);
+        executor.execute(() -> {
+            Drawable drawable = null;
+            try {
+                drawable = source.load(context, sizePx);
+            } catch (RuntimeException ignored) {
+                // 加载失败时保留占位图
+            }
+            if (drawable != null) {
+                Drawable.ConstantState state = drawable.getConstantState();
+                if (state != null) {
+                    cache.put(key, state);
+                }
+            }
+            Drawable result = drawable;
+            mainHandler.post(() -> callback.onIconLoaded(result));
+        });
+    }
+
+    static final class ResourceSource implements BottomNavigation.IconSource {
+        private final int resId;
+
+        ResourceSource(int resId) {
+            this.resId = resId;
+        }
+
+        @Override
+        public Object getKey() {
+            return resId;
+        }
+
+        @Override
+        public Drawable load(Context context, int sizePx) {
+            return context.getDrawable(resId);
+        }
+    }
+
+    static final class UriSource implements BottomNavigation.IconSource {
+        private final Uri uri;
+
+        UriSource(Uri uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public Object getKey() {
+            return uri;
+        }
+
+        /**
+         * 先读取尺寸再按图标大小采样解码，避免把大图整张读入内存
+         */
+        @Override
+        public Drawable load(Context context, int sizePx) {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            try {
+                options.inJustDecodeBounds = true;
+                decode(context, options);
+                if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+
+                int sampleSize = 1;
+                int minSide = Math.min(options.outWidth, options.outHeight);
+                while (minSide / (sampleSize * 2) >= sizePx) {
+                    sampleSize *= 2;
+                }
+                options.inJustDecodeBounds = false;
+                options.inSampleSize = sampleSize;
+
+                Bitmap bitmap = decode(context, options);
+                return bitmap != null ? new BitmapDrawable(context.getResources(), bitmap) : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private Bitmap decode(Context context, BitmapFactory.Options options) throws IOException {
+            try (InputStream input = context.getContentResolver().openInputStream(uri)) {
+                return input != null ? BitmapFactory.decodeStream(input, null, options) : null;
+            }
+        }
+    }
+
+    static final class SupplierSource implements BottomNavigation.IconSource {
+        private final Object key;
+        private final Supplier<Drawable> supplier;
+
+        SupplierSource(Object key, Supplier<Drawable> supplier) {
+            this.key = key;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Drawable load(Context context, int sizePx) {
+            return supplier.get();
+        }
+    }
+
+    private static final class CacheKey {
+        final Object source;
+        final int sizePx;
+
+        CacheKey(Object source, int sizePx) {
+            this.source = source;
+            this.sizePx = sizePx;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            CacheKey other = (CacheKey) o;
+            return sizePx == other.sizePx && source.equals(other.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + sizePx;
+        }
+    }
+}
\ No newline at end of file
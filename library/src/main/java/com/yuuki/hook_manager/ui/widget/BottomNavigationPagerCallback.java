@@ -0,0 +1,53 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import androidx.viewpager2.widget.ViewPager2;
+
+/**
+ * 让 ViewPager2 的滑动偏移直接驱动 BottomNavigation 的选中过渡
+ * 只有用户拖动页面时才逐帧插值，点击导航项触发的 setCurrentItem 滚动交给导航栏自己的动画
+ */
+public class BottomNavigationPagerCallback extends ViewPager2.OnPageChangeCallback {
+
+    private final BottomNavigation navigation;
+    private boolean userDragging = false;
+    private int settledPosition = -1;
+
+    public BottomNavigationPagerCallback(BottomNavigation navigation) {
+        this.navigation = navigation;
+    }
+
+    /**
+     * 注册到 ViewPager2，导航栏点击切换页面仍需在 OnItemSelectedListener 中调用 setCurrentItem
+     */
+    public static BottomNavigationPagerCallback attach(ViewPager2 pager, BottomNavigation navigation) {
+        BottomNavigationPagerCallback callback = new BottomNavigationPagerCallback(navigation);
+        pager.registerOnPageChangeCallback(callback);
+        return callback;
+    }
+
+    @Override
+    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        settledPosition = positionOffset < 0.5f ? position : position + 1;
+        if (!userDragging) return;
+
+        int toIndex = Math.min(position + 1, navigation.getItemCount() - 1);
+        navigation.setSelectionProgress(position, toIndex, positionOffset);
+    }
+
+    @Override
+    public void onPageSelected(int position) {
+        if (!userDragging) {
+            navigation.setSelectedIndex(position);
+        }
+    }
+
+    @Override
+    public void onPageScrollStateChanged(int state) {
+        if (state == ViewPager2.SCROLL_STATE_DRAGGING) {
+            userDragging = true;
+        } else if (state == ViewPager2.SCROLL_STATE_IDLE && userDragging) {
+            userDragging = false;
+            navigation.commitSelectionProgress(settledPosition);
+        }
+    }
+}
\ No newline at end of file
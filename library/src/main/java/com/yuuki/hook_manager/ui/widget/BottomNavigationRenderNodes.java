@@ -0,0 +1,77 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import androidx.annotation.RequiresApi;
+import java.util.List;
+
+/**
+ * BottomNavigation 使用的显示列表，RenderNode 只在这里出现，
+ * 低版本系统加载 BottomNavigation 时不会因为缺少这些类而校验失败
+ * 调用方需要先确认 API 29+
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+final class BottomNavigationRenderNodes {
+
+    private BottomNavigationRenderNodes() {
+    }
+
+    /**
+     * 把导航项内容画到录制画布上，坐标与直接绘制时相同
+     */
+    interface ItemPainter {
+        void drawItem(Canvas canvas, int index);
+    }
+
+    /**
+     * 让节点数量与导航项数量一致，多出的节点立即释放显示列表
+     */
+    static void ensureItemNodes(List<ItemNode> itemNodes, int count) {
+        while (itemNodes.size() < count) {
+            itemNodes.add(new ItemNode());
+        }
+        while (itemNodes.size() > count) {
+            itemNodes.remove(itemNodes.size() - 1).node.discardDisplayList();
+        }
+    }
+
+    /**
+     * 内容未变化时直接重放上一次录制的显示列表
+     */
+    static void drawItemNode(Canvas canvas, ItemNode itemNode, int index, int left, int right,
+                             int height, ItemPainter painter) {
+        RenderNode node = itemNode.node;
+        if (itemNode.dirty || !node.hasDisplayList()) {
+            node.setPosition(left, 0, right, height);
+            RecordingCanvas recordingCanvas = node.beginRecording(right - left, height);
+            try {
+                recordingCanvas.translate(-left, 0);
+                painter.drawItem(recordingCanvas, index);
+            } finally {
+                node.endRecording();
+            }
+            itemNode.dirty = false;
+        }
+        canvas.drawRenderNode(node);
+    }
+
+    static void discardItemNodes(List<ItemNode> itemNodes) {
+        for (int i = 0; i < itemNodes.size(); i++) {
+            itemNodes.get(i).node.discardDisplayList();
+        }
+    }
+
+    /**
+     * 单个导航项的显示列表缓存，仅在 API 29+ 且硬件加速时创建
+     */
+    static final class ItemNode {
+        final RenderNode node = new RenderNode("BottomNavigationItem");
+        boolean dirty = true;
+
+        ItemNode() {
+            node.setClipToBounds(false);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Typeface;
+import android.util.DisplayMetrics;
+import android.util.LruCache;
+import android.util.TypedValue;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 多个样式相同的 BottomNavigation 共用的资源池，按屏幕密度和解析后的样式区分
+ * 控件在附加到窗口时借用，分离时归还，没有控件使用的资源立即移除
+ * 只在主线程访问
+ */
+final class BottomNavigationResourcePool {
+
+    private static final int LABEL_CACHE_SIZE = 128;
+    private static final int ATLAS_CACHE_SIZE = 4;
+
+    private static final HashMap<Key, Entry> entries = new HashMap<>();
+
+    private BottomNavigationResourcePool() {
+    }
+
+    /**
+     * 借用与当前密度和样式对应的资源，引用计数加一
+     */
+    static Entry acquire(DisplayMetrics metrics, int selectedColor, int unselectedColor,
+                         float textSize, Typeface typeface, Locale locale) {
+        Key key = new Key(metrics.densityDpi, selectedColor, unselectedColor, textSize, typeface, locale);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key, dimensions(metrics));
+            entries.put(key, entry);
+        }
+        entry.refCount++;
+        return entry;
+    }
+
+    /**
+     * 查找同密度实例正在使用的尺寸，不增加引用计数，控件在 init 中附加到窗口之前调用
+     * 池中没有该密度时换算一份新的，不放入池中
+     */
+    static Dimensions dimensions(DisplayMetrics metrics) {
+        for (Entry entry : entries.values()) {
+            if (entry.dimensions.densityDpi == metrics.densityDpi) {
+                return entry.dimensions;
+            }
+        }
+        return new Dimensions(metrics);
+    }
+
+    /**
+     * 归还借用的资源，最后一个使用者归还后整组资源被移除
+     */
+    static void release(Entry entry) {
+        if (--entry.refCount == 0) {
+            entries.remove(entry.key);
+        }
+    }
+
+    static final class Entry {
+        final Key key;
+        final Dimensions dimensions;
+        // 标签宽度只取决于字号、字体和语言，这些都包含在 key 中
+        final LruCache<String, Float> labelWidths = new LruCache<>(LABEL_CACHE_SIZE);
+        // 按图标列表缓存已着色的图集，位图发布后不再修改
+        final LruCache<List<Object>, Atlas> atlases = new LruCache<>(ATLAS_CACHE_SIZE);
+        int refCount;
+
+        Entry(Key key, Dimensions dimensions) {
+            this.key = key;
+            this.dimensions = dimensions;
+        }
+    }
+
+    /**
+     * 按屏幕密度换算好的固定尺寸
+     */
+    static final class Dimensions {
+        final int densityDpi;
+        final int iconSize;
+        final int minIndicatorContentWidth;
+        final int indicatorTextExtra;
+        final int rippleMaxRadius;
+        final int defaultHeight;
+        final int translateUnit;
+        final int labelTranslateUnit;
+        final int badgeHeight;
+        final int badgePadding;
+        final int badgeDotRadius;
+
+        Dimensions(DisplayMetrics metrics) {
+            densityDpi = metrics.densityDpi;
+            iconSize = dpToPx(metrics, 24);
+            minIndicatorContentWidth = dpToPx(metrics, 48);
+            indicatorTextExtra = dpToPx(metrics, 8);
+            rippleMaxRadius = dpToPx(metrics, 48);
+            defaultHeight = dpToPx(metrics, 80);
+            translateUnit = dpToPx(metrics, 1);
+            labelTranslateUnit = dpToPx(metrics, 0.5f);
+            badgeHeight = dpToPx(metrics, 16);
+            badgePadding = dpToPx(metrics, 4);
+            badgeDotRadius = dpToPx(metrics, 3);
+        }
+
+        private static int dpToPx(DisplayMetrics metrics, float dp) {
+            return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp, metrics);
+        }
+    }
+
+    /**
+     * 已栅格化的图集，每个导航项占选中和未选中上下两个格子
+     */
+    static final class Atlas {
+        final Bitmap bitmap;
+        final int cellSize;
+        final boolean[] ready;
+
+        Atlas(Bitmap bitmap, int cellSize, boolean[] ready) {
+            this.bitmap = bitmap;
+            this.cellSize = cellSize;
+            this.ready = ready;
+        }
+    }
+
+    private static final class Key {
+        final int densityDpi;
+        final int selectedColor;
+        final int unselectedColor;
+        final float textSize;
+        final Typeface typeface;
+        final Locale locale;
+
+        Key(int densityDpi, int selectedColor, int unselectedColor,
+            float textSize, Typeface typeface, Locale locale) {
+            this.densityDpi = densityDpi;
+            this.selectedColor = selectedColor;
+            this.unselectedColor = unselectedColor;
+            this.textSize = textSize;
+            this.typeface = typeface;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return densityDpi == other.densityDpi
+                    && selectedColor == other.selectedColor
+                    && unselectedColor == other.unselectedColor
+                    && textSize == other.textSize
+                    && Objects.equals(typeface, other.typeface)
+                    && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = densityDpi;
+            result = 31 * result + selectedColor;
+            result = 31 * result + unselectedColor;
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + Objects.hashCode(typeface);
+            result = 31 * result + Objects.hashCode(locale);
+            return result;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.TimeInterpolator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.view.View;
+import android.view.ViewAnimationUtils;
+import android.view.ViewGroup;
+
+/**
+ * RenderThread 驱动的指示器：两个子视图交替承载指示器，切换选中时新指示器从中心展开、
+ * 旧指示器向中心收起，都是 createCircularReveal 返回的 RenderNode 动画，
+ * 启动后不再需要主线程推进，主线程卡顿时依然流畅
+ * 公开 SDK 没有能在 RenderThread 上平移任意几何的动画，所以指示器不滑动，而是原地展开
+ * 只能用于硬件加速的视图，调用方需要先确认
+ */
+final class BottomNavigationRevealIndicator {
+
+    private final PillView[] pills = new PillView[2];
+    private final TimeInterpolator interpolator;
+    private int current;
+    // 当前指示器所在的导航项
+    private int index = -1;
+
+    BottomNavigationRevealIndicator(Context context, TimeInterpolator interpolator) {
+        this.interpolator = interpolator;
+        for (int i = 0; i < pills.length; i++) {
+            pills[i] = new PillView(context);
+        }
+    }
+
+    /**
+     * 子视图加在最底层，导航项由父视图在 dispatchDraw 中画在它们上面
+     */
+    void attach(ViewGroup parent) {
+        for (PillView pill : pills) {
+            parent.addView(pill, 0);
+        }
+    }
+
+    void detach(ViewGroup parent) {
+        end();
+        for (PillView pill : pills) {
+            parent.removeView(pill);
+        }
+        index = -1;
+    }
+
+    void setStyle(int color, float cornerRadius) {
+        for (PillView pill : pills) {
+            pill.paint.setColor(color);
+            pill.cornerRadius = cornerRadius;
+            pill.invalidate();
+        }
+    }
+
+    /**
+     * 把指示器放到指定导航项，同一项只更新位置和尺寸
+     * @param animate 换到另一项时是否播放展开和收起动画
+     */
+    void moveTo(int index, RectF rect, boolean animate, long duration) {
+        if (index == this.index) {
+            layout(pills[current], rect);
+            return;
+        }
+        this.index = index;
+        if (!animate) {
+            end();
+            layout(pills[current], rect);
+            pills[current].setVisibility(View.VISIBLE);
+            pills[current ^ 1].setVisibility(View.INVISIBLE);
+            return;
+        }
+
+        PillView outgoing = pills[current];
+        current ^= 1;
+        PillView incoming = pills[current];
+        layout(incoming, rect);
+        incoming.setVisibility(View.VISIBLE);
+        reveal(incoming, 0f, incoming.radius(), duration);
+        if (outgoing.getVisibility() == View.VISIBLE) {
+            reveal(outgoing, outgoing.radius(), 0f, duration);
+        }
+    }
+
+    /**
+     * 进行中的动画直接跳到终点
+     * RenderNode 动画的结束回调由 RenderThread 异步送回，这里直接隐藏旧指示器
+     */
+    void end() {
+        for (PillView pill : pills) {
+            Animator reveal = pill.reveal;
+            pill.reveal = null;
+            if (reveal != null) {
+                reveal.end();
+            }
+        }
+        pills[current ^ 1].setVisibility(View.INVISIBLE);
+    }
+
+    private void reveal(PillView pill, float startRadius, float endRadius, long duration) {
+        Animator previous = pill.reveal;
+        pill.reveal = null;
+        if (previous != null) {
+            previous.cancel();
+        }
+        Animator animator = ViewAnimationUtils.createCircularReveal(pill,
+                pill.getWidth() / 2, pill.getHeight() / 2, startRadius, endRadius);
+        animator.setDuration(duration);
+        animator.setInterpolator(interpolator);
+        animator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                // 被新动画取消时不处理
+                if (pill.reveal != animation) return;
+                pill.reveal = null;
+                if (pill != pills[current]) {
+                    pill.setVisibility(View.INVISIBLE);
+                }
+            }
+        });
+        pill.reveal = animator;
+        animator.start();
+    }
+
+    private static void layout(View pill, RectF rect) {
+        int left = Math.round(rect.left);
+        int top = Math.round(rect.top);
+        int right = Math.round(rect.right);
+        int bottom = Math.round(rect.bottom);
+        pill.measure(View.MeasureSpec.makeMeasureSpec(right - left, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(bottom - top, View.MeasureSpec.EXACTLY));
+        pill.layout(left, top, right, bottom);
+    }
+
+    /**
+     * 只绘制一个圆角矩形的指示器视图
+     */
+    private static final class PillView extends View {
+        final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        float cornerRadius;
+        Animator reveal;
+
+        PillView(Context context) {
+            super(context);
+            setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+            setVisibility(INVISIBLE);
+        }
+
+        /**
+         * 覆盖整个指示器的揭示半径
+         */
+        float radius() {
+            return (float) Math.hypot(getWidth(), getHeight()) / 2f;
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            canvas.drawRoundRect(0, 0, getWidth(), getHeight(), cornerRadius, cornerRadius, paint);
+        }
+    }
+}
\ No newline at end of file
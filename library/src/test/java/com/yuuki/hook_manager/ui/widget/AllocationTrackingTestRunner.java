@@ -0,0 +1,24 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.internal.bytecode.InstrumentationConfiguration;
+
+/**
+ * AllocationRecorder 交给系统类加载器加载，javaagent 插桩后上报的分配
+ * 和测试中注册的采样器才是同一个类，否则沙箱会另外加载一份
+ */
+public class AllocationTrackingTestRunner extends RobolectricTestRunner {
+
+    public AllocationTrackingTestRunner(Class<?> testClass) throws InitializationError {
+        super(testClass);
+    }
+
+    @Override
+    protected InstrumentationConfiguration createClassLoaderConfig(FrameworkMethod method) {
+        return new InstrumentationConfiguration.Builder(super.createClassLoaderConfig(method))
+                .doNotAcquirePackage("com.google.monitoring")
+                .build();
+    }
+}
\ No newline at end of file
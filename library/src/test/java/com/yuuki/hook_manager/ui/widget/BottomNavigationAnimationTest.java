@@ -0,0 +1,439 @@
+package com.yuuki.hook_manager.ui.widget;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.RectF;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.shapes.OvalShape;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.google.monitoring.runtime.instrumentation.AllocationRecorder;
+import com.google.monitoring.runtime.instrumentation.Sampler;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.annotation.GraphicsMode;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.util.ReflectionHelpers;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 选中动画的帧回调行为，帧由测试直接驱动，不经过 Looper
+ * LEGACY 图形模式下窗口可见性为 GONE，控件会跳过所有动画
+ */
+@RunWith(AllocationTrackingTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class BottomNavigationAnimationTest {
+
+    private static final int ITEM_COUNT = 5;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 240;
+    private static final long FRAME_NANOS = 16_666_667L;
+    // 足够让选中弹簧和指示器完全静止
+    private static final int MAX_FRAMES = 600;
+
+    private BottomNavigation bottomNav;
+    private Choreographer choreographer;
+    private Choreographer.FrameCallback frameCallback;
+    private Object[] allFrameCallbacks;
+    private long frameTimeNanos;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        bottomNav = new BottomNavigation(activity);
+        bottomNav.setItems(createItems(ITEM_COUNT));
+
+        FrameLayout root = new FrameLayout(activity);
+        root.addView(bottomNav, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        activity.setContentView(root, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        ShadowLooper.idleMainLooper();
+
+        choreographer = Choreographer.getInstance();
+        frameCallback = ReflectionHelpers.getField(bottomNav, "frameCallback");
+        allFrameCallbacks = new Object[] {
+                frameCallback,
+                ReflectionHelpers.getField(bottomNav, "badgeFrameCallback"),
+                ReflectionHelpers.getField(bottomNav, "dispatchFrameCallback")
+        };
+    }
+
+    @Test
+    public void selectionAnimationFramesDoNotAllocate() {
+        assertTrue("allocation-instrumenter javaagent is not attached", isAllocationAgentAttached());
+        Canvas canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+
+        // 先完整播放一次，填充标签、徽标和图标状态等缓存
+        bottomNav.setSelectedIndex(3);
+        assertTrue(runFrames(canvas, null) > 1);
+
+        bottomNav.setSelectedIndex(1);
+        WidgetAllocationSampler sampler = new WidgetAllocationSampler();
+        AllocationRecorder.addSampler(sampler);
+        try {
+            assertTrue(runFrames(canvas, sampler) > 1);
+        } finally {
+            AllocationRecorder.removeSampler(sampler);
+        }
+    }
+
+    /**
+     * 一帧之内连续点击 100 次，每次点击都只是重新设定弹簧目标，等待中的帧回调始终只有一个
+     */
+    @Test
+    public void rapidTapsKeepOneFrameCallback() {
+        int itemWidth = WIDTH / ITEM_COUNT;
+        for (int i = 0; i < 100; i++) {
+            tap(itemWidth * ((i + 1) % ITEM_COUNT) + itemWidth / 2f, HEIGHT / 2f);
+            assertTrue("tap " + i, countFrameCallbacks(frameCallback) <= 1);
+        }
+        assertEquals(1, countFrameCallbacks(frameCallback));
+
+        // 执行这一帧后最多重新请求一次
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        assertTrue(countFrameCallbacks(frameCallback) <= 1);
+    }
+
+    /**
+     * 动画中途隐藏，动画直接跳到终点，隐藏期间的选中、徽标和回调分发都不再请求帧
+     */
+    @Test
+    public void hiddenMidAnimationPostsNoFrameCallbacks() {
+        bottomNav.setOnItemSelectedListener((index, item) -> { });
+        bottomNav.setListenerDispatchPolicy(BottomNavigation.DISPATCH_NEXT_FRAME);
+        bottomNav.setSelectedIndex(3);
+        // 手动推进两帧，动画处于中途
+        for (int i = 0; i < 2; i++) {
+            choreographer.removeFrameCallback(frameCallback);
+            frameTimeNanos += FRAME_NANOS;
+            frameCallback.doFrame(frameTimeNanos);
+        }
+        bottomNav.setBadge(2, 6);
+        bottomNav.setSelectedIndex(1);
+        assertEquals(3, countFrameCallbacks(allFrameCallbacks));
+
+        bottomNav.setVisibility(View.INVISIBLE);
+        assertEquals(0, countFrameCallbacks(allFrameCallbacks));
+        assertEquals(6, bottomNav.getBadge(2));
+
+        tap(WIDTH / ITEM_COUNT * 4.5f, HEIGHT / 2f);
+        bottomNav.setSelectedIndex(2);
+        bottomNav.setBadge(2, 7);
+        bottomNav.setBadge(4, BottomNavigation.BADGE_DOT);
+        assertEquals(0, countFrameCallbacks(allFrameCallbacks));
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertEquals(0, countFrameCallbacks(allFrameCallbacks));
+        assertEquals(2, bottomNav.getSelectedIndex());
+
+        bottomNav.setVisibility(View.VISIBLE);
+        bottomNav.setSelectedIndex(0);
+        assertEquals(1, countFrameCallbacks(frameCallback));
+    }
+
+    /**
+     * 隐藏发生在生命周期回调中，尚未分发的选中不能在隐藏时回调，重新显示后的下一帧再分发
+     */
+    @Test
+    public void hidingKeepsPendingSelectionUntilShown() {
+        List<Integer> selected = new ArrayList<>();
+        bottomNav.setOnItemSelectedListener((index, item) -> selected.add(index));
+        bottomNav.setListenerDispatchPolicy(BottomNavigation.DISPATCH_NEXT_FRAME);
+        bottomNav.setSelectedIndex(3);
+
+        bottomNav.setVisibility(View.INVISIBLE);
+        assertEquals(Collections.emptyList(), selected);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertEquals(Collections.emptyList(), selected);
+
+        bottomNav.setVisibility(View.VISIBLE);
+        assertEquals(Collections.emptyList(), selected);
+        ShadowLooper.idleMainLooper(16, TimeUnit.MILLISECONDS);
+        assertEquals(Collections.singletonList(3), selected);
+    }
+
+    /**
+     * RenderThread 模式下指示器交给子视图的揭示动画，主线程不再逐帧推进指示器
+     */
+    @Test
+    public void renderThreadIndicatorIsNotSteppedOnUiThread() {
+        bottomNav.setRenderThreadAnimations(true);
+        ShadowLooper.idleMainLooper();
+        assertTrue(bottomNav.isHardwareAccelerated());
+        assertEquals(1, countVisiblePills());
+
+        bottomNav.setSelectedIndex(2);
+        assertFalse(ReflectionHelpers.<Boolean>getField(bottomNav, "indicatorRunning"));
+        // 新指示器展开、旧指示器收起
+        assertEquals(2, countVisiblePills());
+
+        // 隐藏时动画跳到终点，只剩选中项上的指示器
+        bottomNav.setVisibility(View.INVISIBLE);
+        assertEquals(1, countVisiblePills());
+        RectF indicatorRect = ReflectionHelpers.getField(bottomNav, "indicatorRect");
+        View pill = findVisiblePill();
+        assertEquals(Math.round(indicatorRect.left), pill.getLeft());
+        assertEquals(Math.round(indicatorRect.right), pill.getRight());
+    }
+
+    /**
+     * 关闭动画后 RenderThread 水波纹也不再播放
+     */
+    @Test
+    public void renderThreadRippleRespectsAnimationSwitch() {
+        bottomNav.setRenderThreadAnimations(true);
+        bottomNav.setEnableAnimation(false);
+        tap(WIDTH / ITEM_COUNT * 2.5f, HEIGHT / 2f);
+        assertNull(ReflectionHelpers.getField(bottomNav, "rippleDrawable"));
+    }
+
+    /**
+     * 按功能开关重建导航栏时重新 getDrawable 得到的是共用 ConstantState 的新对象，
+     * 应当复用已有的图标状态
+     */
+    @Test
+    public void submitItemsReusesIconStatesForReloadedDrawables() {
+        List<Drawable> resources = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            resources.add(new BitmapDrawable(bottomNav.getResources(),
+                    Bitmap.createBitmap(24, 24, Bitmap.Config.ARGB_8888)));
+        }
+        bottomNav.setItems(loadItems(resources));
+        bottomNav.draw(new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888)));
+        List<Object> iconStates = new ArrayList<>(ReflectionHelpers.<List<Object>>getField(bottomNav, "iconStates"));
+
+        bottomNav.submitItems(loadItems(resources));
+        List<Object> reused = ReflectionHelpers.getField(bottomNav, "iconStates");
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertSame("item " + i, iconStates.get(i), reused.get(i));
+        }
+    }
+
+    /**
+     * 加载失败后不在每次绘制时重试，重新提交导航项时再次加载
+     */
+    @Test
+    public void failedIconLoadRetriesOnSubmit() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        BottomNavigation.IconSource source = new BottomNavigation.IconSource() {
+            @Override
+            public Object getKey() {
+                return this;
+            }
+
+            @Override
+            public Drawable load(Context context, int sizePx) {
+                return loads.incrementAndGet() == 1 ? null
+                        : new BitmapDrawable(context.getResources(),
+                                Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888));
+            }
+        };
+        Canvas canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+        bottomNav.setItems(Collections.singletonList(new BottomNavigation.NavigationItem("Item", source)));
+        bottomNav.draw(canvas);
+        Object iconState = ReflectionHelpers.<List<Object>>getField(bottomNav, "iconStates").get(0);
+        awaitIconLoad(iconState);
+        assertTrue(ReflectionHelpers.<Boolean>getField(iconState, "loadFailed"));
+
+        bottomNav.draw(canvas);
+        assertFalse(ReflectionHelpers.<Boolean>getField(iconState, "loading"));
+        assertEquals(1, loads.get());
+
+        bottomNav.submitItems(Collections.singletonList(new BottomNavigation.NavigationItem("Item", source)));
+        bottomNav.draw(canvas);
+        awaitIconLoad(iconState);
+        assertEquals(2, loads.get());
+        assertFalse(ReflectionHelpers.<Boolean>getField(iconState, "loadFailed"));
+        assertTrue(ReflectionHelpers.getField(iconState, "source") instanceof BitmapDrawable);
+    }
+
+    /**
+     * 逐帧推进并绘制，直到不再请求下一帧
+     * sampler 不为 null 时，任何一帧出现由控件引起的分配都会失败
+     */
+    private int runFrames(Canvas canvas, WidgetAllocationSampler sampler) {
+        int frames = 0;
+        while (isFramePosted() && frames < MAX_FRAMES) {
+            // 移除后重新请求会复用 Choreographer 回收的记录
+            choreographer.removeFrameCallback(frameCallback);
+            frameTimeNanos += FRAME_NANOS;
+            if (sampler != null) {
+                sampler.recording = true;
+            }
+            frameCallback.doFrame(frameTimeNanos);
+            bottomNav.draw(canvas);
+            if (sampler != null) {
+                sampler.recording = false;
+                assertEquals("frame " + frames + " allocated", Collections.emptyList(), sampler.allocations);
+            }
+            frames++;
+        }
+        return frames;
+    }
+
+    /**
+     * 图标在后台线程加载，结果投递到主线程
+     */
+    private static void awaitIconLoad(Object iconState) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ReflectionHelpers.<Boolean>getField(iconState, "loading")) {
+            assertTrue("icon load timed out", System.nanoTime() < deadline);
+            Thread.sleep(10);
+            ShadowLooper.idleMainLooper();
+        }
+    }
+
+    private int countVisiblePills() {
+        int count = 0;
+        for (int i = 0; i < bottomNav.getChildCount(); i++) {
+            if (bottomNav.getChildAt(i).getVisibility() == View.VISIBLE) count++;
+        }
+        return count;
+    }
+
+    private View findVisiblePill() {
+        for (int i = 0; i < bottomNav.getChildCount(); i++) {
+            if (bottomNav.getChildAt(i).getVisibility() == View.VISIBLE) return bottomNav.getChildAt(i);
+        }
+        return null;
+    }
+
+    private void tap(float x, float y) {
+        long now = SystemClock.uptimeMillis();
+        MotionEvent down = MotionEvent.obtain(now, now, MotionEvent.ACTION_DOWN, x, y, 0);
+        MotionEvent up = MotionEvent.obtain(now, now, MotionEvent.ACTION_UP, x, y, 0);
+        bottomNav.dispatchTouchEvent(down);
+        bottomNav.dispatchTouchEvent(up);
+        down.recycle();
+        up.recycle();
+    }
+
+    /**
+     * 统计 Choreographer 各回调队列中等待执行的、属于给定回调的记录数
+     */
+    private int countFrameCallbacks(Object... callbacks) {
+        Object[] queues = ReflectionHelpers.getField(choreographer, "mCallbackQueues");
+        int count = 0;
+        for (Object queue : queues) {
+            for (Object record = ReflectionHelpers.getField(queue, "mHead"); record != null;
+                    record = ReflectionHelpers.getField(record, "next")) {
+                Object action = ReflectionHelpers.getField(record, "action");
+                for (Object callback : callbacks) {
+                    if (action == callback) count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean isFramePosted() {
+        return ReflectionHelpers.getField(bottomNav, "frameCallbackPosted");
+    }
+
+    private static boolean isAllocationAgentAttached() {
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (argument.startsWith("-javaagent:") && argument.contains("java-allocation-instrumenter")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与 Resources.getDrawable 相同，每次都从缓存的 ConstantState 创建新对象
+     */
+    private static List<BottomNavigation.NavigationItem> loadItems(List<Drawable> resources) {
+        List<BottomNavigation.NavigationItem> items = new ArrayList<>(resources.size());
+        for (int i = 0; i < resources.size(); i++) {
+            items.add(new BottomNavigation.NavigationItem("Item " + i,
+                    resources.get(i).getConstantState().newDrawable(), i));
+        }
+        return items;
+    }
+
+    private static List<BottomNavigation.NavigationItem> createItems(int count) {
+        List<BottomNavigation.NavigationItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ShapeDrawable icon = new ShapeDrawable(new OvalShape());
+            icon.setIntrinsicWidth(48);
+            icon.setIntrinsicHeight(48);
+            items.add(new BottomNavigation.NavigationItem("Item " + i, icon, i));
+        }
+        return items;
+    }
+
+    /**
+     * 只记录测试线程上、调用栈经过控件代码的分配
+     * Robolectric 的影子类、反射器和 invokedynamic 链接在真机上不存在，按类型和调用栈排除
+     */
+    private static final class WidgetAllocationSampler implements Sampler {
+        private final Thread thread = Thread.currentThread();
+        final List<String> allocations = new ArrayList<>();
+        boolean recording;
+
+        @Override
+        public void sampleAllocation(int count, String desc, Object newObj, long size) {
+            if (!recording || Thread.currentThread() != thread) return;
+            // 下面的处理本身也会分配，暂停记录避免递归
+            recording = false;
+            try {
+                String site = findWidgetFrame(desc);
+                if (site != null) {
+                    allocations.add(desc + " (" + size + " bytes) at " + site);
+                }
+            } finally {
+                recording = true;
+            }
+        }
+
+        private static String findWidgetFrame(String desc) {
+            if (desc.startsWith("java/lang/invoke/") || desc.startsWith("org/robolectric/")) return null;
+
+            StackTraceElement[] stack = new Throwable().getStackTrace();
+            int i = 0;
+            // 跳过采样器和 AllocationRecorder 自身
+            while (i < stack.length && (isTestFrame(stack[i])
+                    || stack[i].getClassName().startsWith("com.google.monitoring."))) {
+                i++;
+            }
+            for (; i < stack.length; i++) {
+                String className = stack[i].getClassName();
+                if (isTestFrame(stack[i])) return null;
+                if (className.startsWith("org.robolectric.") || className.startsWith("java.lang.invoke.")
+                        || className.startsWith("jdk.internal.")) {
+                    return null;
+                }
+                if (className.startsWith("com.yuuki.hook_manager.ui.widget.")) {
+                    return stack[i].toString();
+                }
+            }
+            return null;
+        }
+
+        private static boolean isTestFrame(StackTraceElement frame) {
+            return frame.getClassName().startsWith(BottomNavigationAnimationTest.class.getName());
+        }
+    }
+}
\ No newline at end of file
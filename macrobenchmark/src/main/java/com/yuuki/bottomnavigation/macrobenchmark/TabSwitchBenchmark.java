@@ -0,0 +1,64 @@
+package com.yuuki.bottomnavigation.macrobenchmark;
+
+import android.graphics.Rect;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * 在示例应用中快速连续切换标签，用 FrameTimingMetric 记录帧耗时
+ */
+@RunWith(AndroidJUnit4.class)
+public class TabSwitchBenchmark {
+
+    private static final String PACKAGE_NAME = "com.yuuki.bottomnavigation.sample";
+    private static final int TAB_COUNT = 4;
+    private static final int ROUNDS = 5;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void rapidTabSwitch() {
+        benchmarkRule.measureRepeated(
+                PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                CompilationMode.DEFAULT,
+                StartupMode.WARM,
+                10,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    UiDevice device = scope.getDevice();
+                    UiObject2 bottomNav = device.findObject(By.res(PACKAGE_NAME, "bottom_navigation"));
+                    Rect bounds = bottomNav.getVisibleBounds();
+                    int tabWidth = bounds.width() / TAB_COUNT;
+
+                    // 不等待动画结束，连续点击以打断正在进行的选中动画
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = 0; i < TAB_COUNT; i++) {
+                            device.click(bounds.left + tabWidth * i + tabWidth / 2, bounds.centerY());
+                        }
+                    }
+                    device.waitForIdle();
+                    return Unit.INSTANCE;
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.yuuki.bottomnavigation.sample;
+
+import android.app.Activity;
+import android.os.Bundle;
+import android.widget.TextView;
+
+import com.yuuki.hook_manager.ui.widget.BottomNavigation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 示例页面，同时作为 Macrobenchmark 快速切换标签的测量目标
+ */
+public class MainActivity extends Activity {
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_main);
+
+        TextView content = findViewById(R.id.content);
+        BottomNavigation bottomNav = findViewById(R.id.bottom_navigation);
+
+        List<BottomNavigation.NavigationItem> items = new ArrayList<>();
+        items.add(new BottomNavigation.NavigationItem(getString(R.string.tab_home), getDrawable(R.drawable.ic_home), "home"));
+        items.add(new BottomNavigation.NavigationItem(getString(R.string.tab_search), getDrawable(R.drawable.ic_search), "search"));
+        items.add(new BottomNavigation.NavigationItem(getString(R.string.tab_notifications), getDrawable(R.drawable.ic_notifications), "notifications"));
+        items.add(new BottomNavigation.NavigationItem(getString(R.string.tab_profile), getDrawable(R.drawable.ic_profile), "profile"));
+
+        bottomNav.setItems(items);
+        bottomNav.setBadge(2, 3);
+        bottomNav.setOnItemSelectedListener((index, item) -> content.setText(item.title));
+
+        content.setText(items.get(bottomNav.getSelectedIndex()).title);
+    }
+}
\ No newline at end of file